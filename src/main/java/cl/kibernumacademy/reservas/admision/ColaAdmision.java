@@ -0,0 +1,119 @@
+package cl.kibernumacademy.reservas.admision;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola acotada con planificación justa por cancha.
+ *
+ * Cada cancha tiene su propia cola y las canchas con trabajo pendiente se
+ * atienden por turnos (round-robin), de modo que un horario muy disputado no
+ * acapara a los trabajadores. Encolar no bloquea: reserva un lugar con CAS y
+ * rechaza si la cola está llena.
+ *
+ * @param <T> tipo de las solicitudes encoladas
+ */
+class ColaAdmision<T> {
+
+    private final int capacidad;
+    private final AtomicInteger pendientes = new AtomicInteger();
+    private final Map<String, ColaCancha<T>> colas = new ConcurrentHashMap<>();
+    private final Queue<ColaCancha<T>> turnos = new ConcurrentLinkedQueue<>();
+    private final Semaphore disponibles = new Semaphore(0);
+
+    ColaAdmision(int capacidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la cola debe ser positiva");
+        }
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Encola una solicitud para la cancha indicada
+     * @return false si la cola está llena
+     */
+    boolean ofrecer(String cancha, T solicitud) {
+        int actual;
+        do {
+            actual = pendientes.get();
+            if (actual >= capacidad) {
+                return false;
+            }
+        } while (!pendientes.compareAndSet(actual, actual + 1));
+
+        ColaCancha<T> cola = colas.computeIfAbsent(cancha, c -> new ColaCancha<>());
+        cola.solicitudes.add(solicitud);
+        programar(cola);
+        disponibles.release();
+        return true;
+    }
+
+    /**
+     * Toma la siguiente solicitud según el turno de canchas, esperando si no hay
+     */
+    T tomar() throws InterruptedException {
+        disponibles.acquire();
+        while (true) {
+            ColaCancha<T> cola = turnos.poll();
+            if (cola == null) {
+                // Otro trabajador tiene la cancha en la mano y la devolverá al turno
+                Thread.onSpinWait();
+                continue;
+            }
+            T solicitud = cola.solicitudes.poll();
+            if (cola.solicitudes.isEmpty()) {
+                cola.programada.set(false);
+                if (!cola.solicitudes.isEmpty()) {
+                    programar(cola);
+                }
+            } else {
+                turnos.add(cola);
+            }
+            if (solicitud != null) {
+                pendientes.decrementAndGet();
+                return solicitud;
+            }
+        }
+    }
+
+    /**
+     * Retira todas las solicitudes pendientes
+     * @return las solicitudes que no alcanzaron a procesarse
+     */
+    List<T> vaciar() {
+        List<T> restantes = new ArrayList<>();
+        while (disponibles.tryAcquire()) {
+            for (ColaCancha<T> cola : colas.values()) {
+                T solicitud = cola.solicitudes.poll();
+                if (solicitud != null) {
+                    pendientes.decrementAndGet();
+                    restantes.add(solicitud);
+                    break;
+                }
+            }
+        }
+        return restantes;
+    }
+
+    int pendientes() {
+        return pendientes.get();
+    }
+
+    private void programar(ColaCancha<T> cola) {
+        if (cola.programada.compareAndSet(false, true)) {
+            turnos.add(cola);
+        }
+    }
+
+    private static final class ColaCancha<T> {
+        private final Queue<T> solicitudes = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean programada = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,128 @@
+package cl.kibernumacademy.reservas.admision;
+
+import cl.kibernumacademy.reservas.exception.SolicitudRechazadaException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Control de admisión delante de {@link ReservaService#crearReserva}.
+ *
+ * Cada solicitud pasa primero por el {@link LimitadorTasa} y luego por una
+ * {@link ColaAdmision} acotada que los trabajadores atienden por turnos de
+ * cancha. Si el limitador o la cola rechazan, se lanza de inmediato una
+ * {@link SolicitudRechazadaException} en lugar de acumular latencia.
+ */
+public class ControlAdmision implements AutoCloseable {
+
+    private final ReservaService reservaService;
+    private final LimitadorTasa limitador;
+    private final ColaAdmision<Solicitud> cola;
+    private final List<Thread> trabajadores = new ArrayList<>();
+    private volatile boolean cerrado;
+
+    /**
+     * @param reservaService servicio que procesa las reservas admitidas
+     * @param limitador limitador de tasa por usuario y global
+     * @param capacidadCola máximo de solicitudes en espera
+     * @param numeroTrabajadores hilos que procesan la cola
+     */
+    public ControlAdmision(ReservaService reservaService, LimitadorTasa limitador,
+                           int capacidadCola, int numeroTrabajadores) {
+        if (numeroTrabajadores <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos un trabajador");
+        }
+        this.reservaService = reservaService;
+        this.limitador = limitador;
+        this.cola = new ColaAdmision<>(capacidadCola);
+        for (int i = 0; i < numeroTrabajadores; i++) {
+            Thread hilo = new Thread(this::atender, "admision-reservas-" + i);
+            hilo.setDaemon(true);
+            trabajadores.add(hilo);
+            hilo.start();
+        }
+    }
+
+    /**
+     * Solicita la creación de una reserva
+     * @param cancha la cancha a reservar
+     * @param fechaHora fecha y hora de la reserva
+     * @param nombreUsuario nombre del usuario
+     * @return futuro con la reserva creada o con la excepción del servicio
+     * @throws SolicitudRechazadaException si el limitador o la cola rechazan la solicitud
+     */
+    public CompletableFuture<Reserva> crearReserva(Cancha cancha, LocalDateTime fechaHora, String nombreUsuario) {
+        if (cerrado) {
+            throw new SolicitudRechazadaException("El control de admisión está cerrado");
+        }
+        switch (limitador.intentarAdmitir(nombreUsuario)) {
+            case RECHAZADA_USUARIO:
+                throw new SolicitudRechazadaException("Demasiadas solicitudes del usuario " + nombreUsuario);
+            case RECHAZADA_GLOBAL:
+                throw new SolicitudRechazadaException("El sistema está saturado, intente nuevamente");
+            default:
+                break;
+        }
+        Solicitud solicitud = new Solicitud(cancha, fechaHora, nombreUsuario);
+        if (!cola.ofrecer(cancha.getNombre(), solicitud)) {
+            throw new SolicitudRechazadaException("La cola de reservas está llena, intente nuevamente");
+        }
+        return solicitud.resultado;
+    }
+
+    /**
+     * Obtiene el número de solicitudes admitidas que aún no se procesan
+     * @return solicitudes en espera
+     */
+    public int solicitudesPendientes() {
+        return cola.pendientes();
+    }
+
+    /**
+     * Detiene los trabajadores y rechaza las solicitudes que seguían en espera
+     */
+    @Override
+    public void close() {
+        cerrado = true;
+        trabajadores.forEach(Thread::interrupt);
+        for (Solicitud pendiente : cola.vaciar()) {
+            pendiente.resultado.completeExceptionally(
+                new SolicitudRechazadaException("El control de admisión se cerró antes de procesar la solicitud"));
+        }
+    }
+
+    private void atender() {
+        while (!cerrado) {
+            Solicitud solicitud;
+            try {
+                solicitud = cola.tomar();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                solicitud.resultado.complete(
+                    reservaService.crearReserva(solicitud.cancha, solicitud.fechaHora, solicitud.nombreUsuario));
+            } catch (RuntimeException e) {
+                solicitud.resultado.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Solicitud {
+        private final Cancha cancha;
+        private final LocalDateTime fechaHora;
+        private final String nombreUsuario;
+        private final CompletableFuture<Reserva> resultado = new CompletableFuture<>();
+
+        private Solicitud(Cancha cancha, LocalDateTime fechaHora, String nombreUsuario) {
+            this.cancha = cancha;
+            this.fechaHora = fechaHora;
+            this.nombreUsuario = nombreUsuario;
+        }
+    }
+}
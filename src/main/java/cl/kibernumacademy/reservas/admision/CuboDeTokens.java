@@ -0,0 +1,78 @@
+package cl.kibernumacademy.reservas.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubo de tokens sin bloqueos.
+ *
+ * Se implementa con el algoritmo GCRA: en lugar de guardar tokens y fecha de
+ * recarga por separado, guarda un único instante teórico de llegada. Cada
+ * solicitud lo adelanta un intervalo; si queda más adelantado que la ráfaga
+ * permitida, la solicitud se rechaza. Así consumir un token es un solo
+ * compareAndSet sobre un {@link AtomicLong}.
+ */
+public class CuboDeTokens {
+
+    private final long intervaloNanos;
+    private final long rafagaNanos;
+    private final LongSupplier reloj;
+    private final AtomicLong llegadaTeorica;
+
+    /**
+     * @param capacidad tokens máximos acumulables (tamaño de la ráfaga)
+     * @param tokensPorSegundo tasa sostenida de recarga
+     */
+    public CuboDeTokens(int capacidad, double tokensPorSegundo) {
+        this(capacidad, tokensPorSegundo, System::nanoTime);
+    }
+
+    CuboDeTokens(int capacidad, double tokensPorSegundo, LongSupplier reloj) {
+        validar(capacidad, tokensPorSegundo);
+        this.intervaloNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / tokensPorSegundo));
+        this.rafagaNanos = intervaloNanos * capacidad;
+        this.reloj = reloj;
+        this.llegadaTeorica = new AtomicLong(reloj.getAsLong());
+    }
+
+    static void validar(int capacidad, double tokensPorSegundo) {
+        if (capacidad <= 0 || tokensPorSegundo <= 0) {
+            throw new IllegalArgumentException("La capacidad y la tasa deben ser positivas");
+        }
+    }
+
+    /**
+     * Intenta consumir un token
+     * @return true si había un token disponible, false si la solicitud debe rechazarse
+     */
+    public boolean intentarConsumir() {
+        long ahora = reloj.getAsLong();
+        while (true) {
+            long actual = llegadaTeorica.get();
+            long siguiente = Math.max(actual, ahora) + intervaloNanos;
+            if (siguiente - ahora > rafagaNanos) {
+                return false;
+            }
+            if (llegadaTeorica.compareAndSet(actual, siguiente)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devuelve un token consumido por una solicitud que finalmente no se admitió
+     */
+    void devolver() {
+        llegadaTeorica.addAndGet(-intervaloNanos);
+    }
+
+    /**
+     * Indica si el cubo está lleno, es decir, si no ha recibido solicitudes
+     * durante el tiempo necesario para recargarse por completo
+     * @return true si el cubo está lleno
+     */
+    boolean estaLleno() {
+        return llegadaTeorica.get() <= reloj.getAsLong();
+    }
+}
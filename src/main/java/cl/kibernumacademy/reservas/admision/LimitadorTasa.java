@@ -0,0 +1,115 @@
+package cl.kibernumacademy.reservas.admision;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de tasa con un cubo de tokens por usuario y uno global.
+ *
+ * Una solicitud se admite solo si hay token en el cubo del usuario y luego en
+ * el global; se verifica primero el del usuario para que un cliente abusivo
+ * no consuma capacidad global; si el global rechaza, el token del usuario se
+ * devuelve para no penalizarlo por una sobrecarga ajena. Ninguna de las dos
+ * verificaciones bloquea.
+ *
+ * Los cubos de usuarios inactivos se purgan solos: como mucho una vez por
+ * {@link #INTERVALO_PURGA_NANOS}, la solicitud que encuentra vencido el
+ * intervalo hace la purga, sin hilos adicionales.
+ */
+public class LimitadorTasa {
+
+    static final long INTERVALO_PURGA_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final int capacidadPorUsuario;
+    private final double tasaPorUsuario;
+    private final CuboDeTokens global;
+    private final LongSupplier reloj;
+    private final Map<String, CuboDeTokens> porUsuario = new ConcurrentHashMap<>();
+    private final AtomicLong ultimaPurga;
+
+    /**
+     * @param capacidadPorUsuario ráfaga máxima por usuario
+     * @param tasaPorUsuario solicitudes por segundo sostenidas por usuario
+     * @param capacidadGlobal ráfaga máxima global
+     * @param tasaGlobal solicitudes por segundo sostenidas en total
+     */
+    public LimitadorTasa(int capacidadPorUsuario, double tasaPorUsuario, int capacidadGlobal, double tasaGlobal) {
+        this(capacidadPorUsuario, tasaPorUsuario, capacidadGlobal, tasaGlobal, System::nanoTime);
+    }
+
+    LimitadorTasa(int capacidadPorUsuario, double tasaPorUsuario, int capacidadGlobal, double tasaGlobal,
+                  LongSupplier reloj) {
+        // Valida los parámetros por usuario al construir y no en la primera solicitud
+        CuboDeTokens.validar(capacidadPorUsuario, tasaPorUsuario);
+        this.capacidadPorUsuario = capacidadPorUsuario;
+        this.tasaPorUsuario = tasaPorUsuario;
+        this.global = new CuboDeTokens(capacidadGlobal, tasaGlobal, reloj);
+        this.reloj = reloj;
+        this.ultimaPurga = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Intenta admitir una solicitud del usuario
+     * @param nombreUsuario nombre del usuario
+     * @return el resultado de la admisión
+     */
+    public Resultado intentarAdmitir(String nombreUsuario) {
+        purgarSiCorresponde();
+        CuboDeTokens cubo;
+        boolean admitida;
+        do {
+            cubo = porUsuario.get(nombreUsuario);
+            if (cubo == null) {
+                cubo = porUsuario.computeIfAbsent(nombreUsuario,
+                    u -> new CuboDeTokens(capacidadPorUsuario, tasaPorUsuario, reloj));
+            }
+            admitida = cubo.intentarConsumir();
+            // Si una purga retiró el cubo mientras se usaba, se repite con el vigente
+        } while (porUsuario.get(nombreUsuario) != cubo);
+        if (!admitida) {
+            return Resultado.RECHAZADA_USUARIO;
+        }
+        if (!global.intentarConsumir()) {
+            cubo.devolver();
+            return Resultado.RECHAZADA_GLOBAL;
+        }
+        return Resultado.ADMITIDA;
+    }
+
+    /**
+     * Elimina los cubos de usuarios que ya se recargaron por completo; un cubo
+     * nuevo se comporta igual, así que no se pierde información
+     * @return número de cubos eliminados
+     */
+    public int purgarInactivos() {
+        int purgados = 0;
+        for (Map.Entry<String, CuboDeTokens> entrada : porUsuario.entrySet()) {
+            // remove(clave, valor) no retira un cubo que otro hilo acaba de reemplazar
+            if (entrada.getValue().estaLleno() && porUsuario.remove(entrada.getKey(), entrada.getValue())) {
+                purgados++;
+            }
+        }
+        return purgados;
+    }
+
+    private void purgarSiCorresponde() {
+        long ahora = reloj.getAsLong();
+        long ultima = ultimaPurga.get();
+        if (ahora - ultima >= INTERVALO_PURGA_NANOS && ultimaPurga.compareAndSet(ultima, ahora)) {
+            purgarInactivos();
+        }
+    }
+
+    int usuariosRastreados() {
+        return porUsuario.size();
+    }
+
+    public enum Resultado {
+        ADMITIDA,
+        RECHAZADA_USUARIO,
+        RECHAZADA_GLOBAL
+    }
+}
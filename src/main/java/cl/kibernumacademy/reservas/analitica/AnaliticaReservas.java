@@ -0,0 +1,290 @@
+package cl.kibernumacademy.reservas.analitica;
+
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Motor de analítica sobre el historial de reservas.
+ *
+ * Mantiene una {@link VistaColumnarReservas} que se actualiza de forma
+ * incremental con las reservas nuevas, modificadas o eliminadas, y calcula las métricas
+ * (ocupación, tasa de cancelación, usuarios más activos) como agregaciones
+ * paralelas sobre las columnas. Una reserva se considera "ocupada" cuando su
+ * estado es ACTIVA o COMPLETADA.
+ */
+public class AnaliticaReservas {
+
+    /** Bajo este número de filas las agregaciones se ejecutan secuencialmente */
+    static final int UMBRAL_PARALELO = 10_000;
+
+    private static final int ACTIVA = EstadoReserva.ACTIVA.ordinal();
+    private static final int COMPLETADA = EstadoReserva.COMPLETADA.ordinal();
+    private static final int CANCELADA = EstadoReserva.CANCELADA.ordinal();
+
+    private final VistaColumnarReservas vista = new VistaColumnarReservas();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Carga el historial completo desde el repositorio
+     * @param reservaRepository repositorio de reservas
+     * @return el motor con el historial cargado
+     */
+    public static AnaliticaReservas desde(ReservaRepository reservaRepository) {
+        AnaliticaReservas analitica = new AnaliticaReservas();
+        analitica.actualizar(reservaRepository.findAll());
+        return analitica;
+    }
+
+    /**
+     * Incorpora reservas nuevas o modificadas sin volver a recorrer el historial.
+     * Las reservas con un ID ya conocido reemplazan su fila anterior; las
+     * reservas sin ID se agregan siempre como filas nuevas.
+     * @param reservas reservas nuevas o modificadas
+     */
+    public void actualizar(Collection<Reserva> reservas) {
+        lock.writeLock().lock();
+        try {
+            for (Reserva reserva : reservas) {
+                vista.upsert(reserva);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Incorpora una reserva nueva o modificada
+     * @param reserva la reserva
+     */
+    public void actualizar(Reserva reserva) {
+        actualizar(List.of(reserva));
+    }
+
+    /**
+     * Quita de la vista una reserva eliminada del repositorio
+     * @param id ID de la reserva eliminada
+     * @return true si la reserva estaba en la vista
+     */
+    public boolean eliminar(Long id) {
+        lock.writeLock().lock();
+        try {
+            return vista.eliminar(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene el número de reservas registradas en la vista
+     * @return total de reservas
+     */
+    public int totalReservas() {
+        lock.readLock().lock();
+        try {
+            return vista.filas();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la ocupación (reservas ocupadas) por cancha
+     * @return mapa nombre de cancha a número de reservas ocupadas
+     */
+    public Map<String, Long> ocupacionPorCancha() {
+        lock.readLock().lock();
+        try {
+            List<String> nombres = vista.nombresCanchas();
+            long[] conteo = histograma(vista.columnaCancha(), nombres.size(), ocupadas());
+            Map<String, Long> resultado = new LinkedHashMap<>();
+            for (int i = 0; i < conteo.length; i++) {
+                resultado.put(nombres.get(i), conteo[i]);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la tasa de ocupación por cancha para un período: reservas ocupadas
+     * del período divididas por los horarios ofrecidos en él (horarios
+     * disponibles por días). Una tasa mayor que 1 indica más reservas que
+     * horarios ofrecidos, p. ej. si la cancha redujo sus horarios.
+     * @param desde primer día del período (inclusive)
+     * @param hasta último día del período (exclusive)
+     * @return mapa nombre de cancha a tasa de ocupación
+     * @throws IllegalArgumentException si el período no tiene al menos un día
+     */
+    public Map<String, Double> tasaOcupacionPorCancha(LocalDate desde, LocalDate hasta) {
+        long dias = ChronoUnit.DAYS.between(desde, hasta);
+        if (dias <= 0) {
+            throw new IllegalArgumentException("El período debe tener al menos un día");
+        }
+        long primerDia = desde.toEpochDay();
+        long diaFinal = hasta.toEpochDay();
+        lock.readLock().lock();
+        try {
+            List<String> nombres = vista.nombresCanchas();
+            List<Integer> horarios = vista.horariosPorCancha();
+            int[] dia = vista.columnaDiaEpoch();
+            IntPredicate ocupadas = ocupadas();
+            long[] conteo = histograma(vista.columnaCancha(), nombres.size(),
+                i -> dia[i] != VistaColumnarReservas.SIN_DIA && dia[i] >= primerDia && dia[i] < diaFinal
+                    && ocupadas.test(i));
+            Map<String, Double> resultado = new LinkedHashMap<>();
+            for (int i = 0; i < conteo.length; i++) {
+                long ofrecidos = horarios.get(i) * dias;
+                resultado.put(nombres.get(i), ofrecidos == 0 ? 0.0 : (double) conteo[i] / ofrecidos);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la ocupación por tipo de deporte
+     * @return mapa tipo de deporte a número de reservas ocupadas
+     */
+    public Map<TipoDeporte, Long> ocupacionPorTipoDeporte() {
+        lock.readLock().lock();
+        try {
+            TipoDeporte[] tipos = TipoDeporte.values();
+            long[] conteo = histograma(vista.columnaTipoDeporte(), tipos.length, ocupadas());
+            Map<TipoDeporte, Long> resultado = new EnumMap<>(TipoDeporte.class);
+            for (TipoDeporte tipo : tipos) {
+                resultado.put(tipo, conteo[tipo.ordinal()]);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la ocupación por día de la semana
+     * @return mapa día de la semana a número de reservas ocupadas
+     */
+    public Map<DayOfWeek, Long> ocupacionPorDiaSemana() {
+        lock.readLock().lock();
+        try {
+            DayOfWeek[] dias = DayOfWeek.values();
+            long[] conteo = histograma(vista.columnaDiaSemana(), dias.length, ocupadas());
+            Map<DayOfWeek, Long> resultado = new EnumMap<>(DayOfWeek.class);
+            for (DayOfWeek dia : dias) {
+                resultado.put(dia, conteo[dia.ordinal()]);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula la ocupación por hora del día (horarios pico)
+     * @return mapa ordenado hora (0-23) a número de reservas ocupadas
+     */
+    public Map<Integer, Long> ocupacionPorHora() {
+        lock.readLock().lock();
+        try {
+            long[] conteo = histograma(vista.columnaHora(), 24, ocupadas());
+            Map<Integer, Long> resultado = new TreeMap<>();
+            for (int h = 0; h < conteo.length; h++) {
+                resultado.put(h, conteo[h]);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcula el porcentaje de reservas canceladas sobre el total
+     * @return tasa de cancelación entre 0 y 1
+     */
+    public double tasaCancelacion() {
+        lock.readLock().lock();
+        try {
+            long[] conteo = histograma(vista.columnaEstado(), EstadoReserva.values().length, i -> true);
+            long total = 0;
+            for (long c : conteo) {
+                total += c;
+            }
+            return total == 0 ? 0.0 : (double) conteo[CANCELADA] / total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene los usuarios con más reservas ocupadas
+     * @param limite cantidad máxima de usuarios a retornar
+     * @return lista de pares usuario/reservas ordenada de mayor a menor
+     */
+    public List<Map.Entry<String, Long>> usuariosMasActivos(int limite) {
+        lock.readLock().lock();
+        try {
+            List<String> nombres = vista.nombresUsuarios();
+            long[] conteo = histograma(vista.columnaUsuario(), nombres.size(), ocupadas());
+            List<Map.Entry<String, Long>> resultado = new ArrayList<>();
+            for (int i = 0; i < conteo.length; i++) {
+                if (conteo[i] > 0) {
+                    resultado.add(new AbstractMap.SimpleImmutableEntry<>(nombres.get(i), conteo[i]));
+                }
+            }
+            resultado.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+            return resultado.size() > limite ? new ArrayList<>(resultado.subList(0, limite)) : resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntPredicate ocupadas() {
+        int[] estado = vista.columnaEstado();
+        return i -> estado[i] == ACTIVA || estado[i] == COMPLETADA;
+    }
+
+    /**
+     * Cuenta los valores de una columna codificada en el rango [0, cubetas),
+     * en paralelo cuando la vista supera {@link #UMBRAL_PARALELO} filas
+     */
+    private long[] histograma(int[] columna, int cubetas, IntPredicate filtro) {
+        IntStream filas = IntStream.range(0, vista.filas());
+        if (vista.filas() >= UMBRAL_PARALELO) {
+            filas = filas.parallel();
+        }
+        return filas.filter(filtro).collect(
+            () -> new long[cubetas],
+            (acumulado, i) -> {
+                int valor = columna[i];
+                if (valor >= 0) {
+                    acumulado[valor]++;
+                }
+            },
+            (a, b) -> {
+                for (int k = 0; k < cubetas; k++) {
+                    a[k] += b[k];
+                }
+            });
+    }
+}
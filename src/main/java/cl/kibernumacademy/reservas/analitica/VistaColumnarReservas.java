@@ -0,0 +1,185 @@
+package cl.kibernumacademy.reservas.analitica;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vista columnar de las reservas: cada atributo relevante para la analítica
+ * se guarda en su propio arreglo de enteros, de modo que las agregaciones
+ * recorren memoria contigua. Canchas y usuarios se codifican con diccionarios.
+ *
+ * No es thread-safe; la sincronización la maneja {@link AnaliticaReservas}.
+ */
+class VistaColumnarReservas {
+
+    static final int SIN_VALOR = -1;
+    // Los días epoch anteriores a 1970 son negativos, así que la fecha nula usa otro centinela
+    static final int SIN_DIA = Integer.MIN_VALUE;
+    private static final long SIN_ID = Long.MIN_VALUE;
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    private int filas;
+    private long[] id = new long[CAPACIDAD_INICIAL];
+    private int[] diaEpoch = new int[CAPACIDAD_INICIAL];
+    private int[] cancha = new int[CAPACIDAD_INICIAL];
+    private int[] tipoDeporte = new int[CAPACIDAD_INICIAL];
+    private int[] diaSemana = new int[CAPACIDAD_INICIAL];
+    private int[] hora = new int[CAPACIDAD_INICIAL];
+    private int[] estado = new int[CAPACIDAD_INICIAL];
+    private int[] usuario = new int[CAPACIDAD_INICIAL];
+
+    private final Map<Long, Integer> filaPorId = new HashMap<>();
+
+    private final Map<String, Integer> indicePorCancha = new HashMap<>();
+    private final List<String> nombresCanchas = new ArrayList<>();
+    private final List<Integer> horariosPorCancha = new ArrayList<>();
+
+    private final Map<String, Integer> indicePorUsuario = new HashMap<>();
+    private final List<String> nombresUsuarios = new ArrayList<>();
+
+    /**
+     * Inserta la reserva o, si ya existe una fila con su ID, la sobrescribe
+     * @param reserva la reserva a registrar
+     */
+    void upsert(Reserva reserva) {
+        Integer existente = reserva.getId() != null ? filaPorId.get(reserva.getId()) : null;
+        int fila;
+        if (existente != null) {
+            fila = existente;
+        } else {
+            asegurarCapacidad(filas + 1);
+            fila = filas++;
+            if (reserva.getId() != null) {
+                filaPorId.put(reserva.getId(), fila);
+            }
+        }
+
+        id[fila] = reserva.getId() != null ? reserva.getId() : SIN_ID;
+        Cancha c = reserva.getCancha();
+        cancha[fila] = c != null ? codificarCancha(c) : SIN_VALOR;
+        tipoDeporte[fila] = c != null && c.getTipoDeporte() != null ? c.getTipoDeporte().ordinal() : SIN_VALOR;
+        if (reserva.getFechaHora() != null) {
+            diaEpoch[fila] = Math.toIntExact(reserva.getFechaHora().toLocalDate().toEpochDay());
+            diaSemana[fila] = reserva.getFechaHora().getDayOfWeek().ordinal();
+            hora[fila] = reserva.getFechaHora().getHour();
+        } else {
+            diaEpoch[fila] = SIN_DIA;
+            diaSemana[fila] = SIN_VALOR;
+            hora[fila] = SIN_VALOR;
+        }
+        estado[fila] = reserva.getEstado() != null ? reserva.getEstado().ordinal() : SIN_VALOR;
+        usuario[fila] = reserva.getNombreUsuario() != null ? codificarUsuario(reserva.getNombreUsuario()) : SIN_VALOR;
+    }
+
+    /**
+     * Elimina la fila de una reserva moviendo la última fila a su lugar
+     * @param idReserva ID de la reserva eliminada
+     * @return true si la reserva estaba en la vista
+     */
+    boolean eliminar(Long idReserva) {
+        Integer fila = idReserva != null ? filaPorId.remove(idReserva) : null;
+        if (fila == null) {
+            return false;
+        }
+        int ultima = --filas;
+        if (fila != ultima) {
+            id[fila] = id[ultima];
+            diaEpoch[fila] = diaEpoch[ultima];
+            cancha[fila] = cancha[ultima];
+            tipoDeporte[fila] = tipoDeporte[ultima];
+            diaSemana[fila] = diaSemana[ultima];
+            hora[fila] = hora[ultima];
+            estado[fila] = estado[ultima];
+            usuario[fila] = usuario[ultima];
+            if (id[fila] != SIN_ID) {
+                filaPorId.put(id[fila], fila);
+            }
+        }
+        return true;
+    }
+
+    private int codificarCancha(Cancha c) {
+        Integer indice = indicePorCancha.get(c.getNombre());
+        int horarios = c.getHorariosDisponibles() != null ? c.getHorariosDisponibles().size() : 0;
+        if (indice == null) {
+            indice = nombresCanchas.size();
+            indicePorCancha.put(c.getNombre(), indice);
+            nombresCanchas.add(c.getNombre());
+            horariosPorCancha.add(horarios);
+        } else {
+            horariosPorCancha.set(indice, horarios);
+        }
+        return indice;
+    }
+
+    private int codificarUsuario(String nombre) {
+        return indicePorUsuario.computeIfAbsent(nombre, n -> {
+            nombresUsuarios.add(n);
+            return nombresUsuarios.size() - 1;
+        });
+    }
+
+    private void asegurarCapacidad(int requerida) {
+        if (requerida <= cancha.length) {
+            return;
+        }
+        int nueva = Math.max(requerida, cancha.length * 2);
+        id = Arrays.copyOf(id, nueva);
+        diaEpoch = Arrays.copyOf(diaEpoch, nueva);
+        cancha = Arrays.copyOf(cancha, nueva);
+        tipoDeporte = Arrays.copyOf(tipoDeporte, nueva);
+        diaSemana = Arrays.copyOf(diaSemana, nueva);
+        hora = Arrays.copyOf(hora, nueva);
+        estado = Arrays.copyOf(estado, nueva);
+        usuario = Arrays.copyOf(usuario, nueva);
+    }
+
+    int filas() {
+        return filas;
+    }
+
+    int[] columnaDiaEpoch() {
+        return diaEpoch;
+    }
+
+    int[] columnaCancha() {
+        return cancha;
+    }
+
+    int[] columnaTipoDeporte() {
+        return tipoDeporte;
+    }
+
+    int[] columnaDiaSemana() {
+        return diaSemana;
+    }
+
+    int[] columnaHora() {
+        return hora;
+    }
+
+    int[] columnaEstado() {
+        return estado;
+    }
+
+    int[] columnaUsuario() {
+        return usuario;
+    }
+
+    List<String> nombresCanchas() {
+        return nombresCanchas;
+    }
+
+    List<Integer> horariosPorCancha() {
+        return horariosPorCancha;
+    }
+
+    List<String> nombresUsuarios() {
+        return nombresUsuarios;
+    }
+}
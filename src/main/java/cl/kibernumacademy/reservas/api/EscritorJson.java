@@ -0,0 +1,209 @@
+package cl.kibernumacademy.reservas.api;
+
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Codificador JSON en streaming para {@link Reserva} y {@link Cancha}.
+ *
+ * Escribe directamente en el {@link Writer} de la respuesta, sin construir
+ * árboles intermedios ni usar reflexión; fechas y horas se escriben dígito a
+ * dígito en formato ISO-8601 para no crear cadenas temporales.
+ */
+class EscritorJson {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer salida;
+
+    EscritorJson(Writer salida) {
+        this.salida = salida;
+    }
+
+    void reserva(Reserva reserva) throws IOException {
+        salida.write("{\"id\":");
+        if (reserva.getId() != null) {
+            salida.write(Long.toString(reserva.getId()));
+        } else {
+            salida.write("null");
+        }
+        salida.write(",\"cancha\":");
+        cadena(reserva.getCancha() != null ? reserva.getCancha().getNombre() : null);
+        salida.write(",\"fechaHora\":");
+        fechaHora(reserva.getFechaHora());
+        salida.write(",\"nombreUsuario\":");
+        cadena(reserva.getNombreUsuario());
+        salida.write(",\"estado\":");
+        cadena(reserva.getEstado() != null ? reserva.getEstado().name() : null);
+        salida.write('}');
+    }
+
+    void cancha(Cancha cancha) throws IOException {
+        salida.write("{\"nombre\":");
+        cadena(cancha.getNombre());
+        salida.write(",\"tipoDeporte\":");
+        cadena(cancha.getTipoDeporte() != null ? cancha.getTipoDeporte().name() : null);
+        salida.write(",\"horariosDisponibles\":[");
+        if (cancha.getHorariosDisponibles() != null) {
+            boolean primero = true;
+            for (LocalTime horario : cancha.getHorariosDisponibles()) {
+                if (!primero) {
+                    salida.write(',');
+                }
+                primero = false;
+                salida.write('"');
+                hora(horario);
+                salida.write('"');
+            }
+        }
+        salida.write("]}");
+    }
+
+    void reservas(Iterable<Reserva> reservas) throws IOException {
+        salida.write('[');
+        boolean primero = true;
+        for (Reserva reserva : reservas) {
+            if (!primero) {
+                salida.write(',');
+            }
+            primero = false;
+            reserva(reserva);
+        }
+        salida.write(']');
+    }
+
+    void canchas(Iterable<Cancha> canchas) throws IOException {
+        salida.write('[');
+        boolean primero = true;
+        for (Cancha cancha : canchas) {
+            if (!primero) {
+                salida.write(',');
+            }
+            primero = false;
+            cancha(cancha);
+        }
+        salida.write(']');
+    }
+
+    void disponibilidad(String cancha, LocalDateTime fechaHora, boolean disponible) throws IOException {
+        salida.write("{\"cancha\":");
+        cadena(cancha);
+        salida.write(",\"fechaHora\":");
+        fechaHora(fechaHora);
+        salida.write(",\"disponible\":");
+        salida.write(disponible ? "true" : "false");
+        salida.write('}');
+    }
+
+    void error(String mensaje) throws IOException {
+        salida.write("{\"error\":");
+        cadena(mensaje);
+        salida.write('}');
+    }
+
+    void error(String mensaje, List<AlternativaReserva> alternativas) throws IOException {
+        salida.write("{\"error\":");
+        cadena(mensaje);
+        salida.write(",\"alternativas\":[");
+        boolean primero = true;
+        for (AlternativaReserva alternativa : alternativas) {
+            if (!primero) {
+                salida.write(',');
+            }
+            primero = false;
+            salida.write("{\"cancha\":");
+            cadena(alternativa.getCancha().getNombre());
+            salida.write(",\"fechaHora\":");
+            fechaHora(alternativa.getFechaHora());
+            salida.write(",\"mismaCancha\":");
+            salida.write(alternativa.isMismaCancha() ? "true" : "false");
+            salida.write(",\"minutosDeDiferencia\":");
+            salida.write(Long.toString(alternativa.getMinutosDeDiferencia()));
+            salida.write('}');
+        }
+        salida.write("]}");
+    }
+
+    private void cadena(String valor) throws IOException {
+        if (valor == null) {
+            salida.write("null");
+            return;
+        }
+        salida.write('"');
+        int inicio = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                continue;
+            }
+            salida.write(valor, inicio, i - inicio);
+            inicio = i + 1;
+            switch (c) {
+                case '"':
+                    salida.write("\\\"");
+                    break;
+                case '\\':
+                    salida.write("\\\\");
+                    break;
+                case '\n':
+                    salida.write("\\n");
+                    break;
+                case '\r':
+                    salida.write("\\r");
+                    break;
+                case '\t':
+                    salida.write("\\t");
+                    break;
+                default:
+                    salida.write("\\u00");
+                    salida.write(HEX[c >> 4]);
+                    salida.write(HEX[c & 0xF]);
+            }
+        }
+        salida.write(valor, inicio, valor.length() - inicio);
+        salida.write('"');
+    }
+
+    private void fechaHora(LocalDateTime fechaHora) throws IOException {
+        if (fechaHora == null) {
+            salida.write("null");
+            return;
+        }
+        salida.write('"');
+        int anio = fechaHora.getYear();
+        if (anio >= 0 && anio <= 9999) {
+            digitos(anio / 100);
+            digitos(anio % 100);
+        } else {
+            salida.write(Integer.toString(anio));
+        }
+        salida.write('-');
+        digitos(fechaHora.getMonthValue());
+        salida.write('-');
+        digitos(fechaHora.getDayOfMonth());
+        salida.write('T');
+        hora(fechaHora.toLocalTime());
+        salida.write('"');
+    }
+
+    private void hora(LocalTime hora) throws IOException {
+        digitos(hora.getHour());
+        salida.write(':');
+        digitos(hora.getMinute());
+        if (hora.getSecond() != 0) {
+            salida.write(':');
+            digitos(hora.getSecond());
+        }
+    }
+
+    private void digitos(int valor) throws IOException {
+        salida.write('0' + valor / 10);
+        salida.write('0' + valor % 10);
+    }
+}
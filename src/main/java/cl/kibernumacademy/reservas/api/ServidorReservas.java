@@ -0,0 +1,412 @@
+package cl.kibernumacademy.reservas.api;
+
+import cl.kibernumacademy.reservas.admision.ControlAdmision;
+import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.exception.CuotaExcedidaException;
+import cl.kibernumacademy.reservas.exception.ReservaException;
+import cl.kibernumacademy.reservas.exception.ReservaNoEncontradaException;
+import cl.kibernumacademy.reservas.exception.SolicitudRechazadaException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.service.CanchaService;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Capa HTTP/JSON embebida sobre {@link ReservaService} y {@link CanchaService}.
+ *
+ * Usa el servidor del JDK ({@code com.sun.net.httpserver}), que acepta y lee
+ * las conexiones con NIO y entrega cada solicitud a un pool de hilos acotado
+ * con una cola acotada. Si la cola está llena, la solicitud se responde con
+ * 503 desde el hilo que acepta conexiones, sin ejecutar ningún servicio.
+ * Si se configura un {@link ControlAdmision}, las reservas nuevas pasan por
+ * él y sus rechazos se responden con 429.
+ * Los parámetros se reciben en la query string y las respuestas se escriben
+ * en streaming con {@link EscritorJson}.
+ *
+ * <pre>
+ * GET    /canchas[?tipo=TENIS]
+ * GET    /reservas[?usuario=..|estado=..|fecha=2024-12-15]   (por defecto, activas)
+ * GET    /reservas?desde=..&amp;hasta=..[&amp;cancha=..|tipo=..|estado=..]
+ * POST   /reservas?cancha=..&amp;fechaHora=2024-12-15T10:00&amp;usuario=..
+ * PUT    /reservas/{id}?fechaHora=..
+ * DELETE /reservas/{id}
+ * GET    /disponibilidad?cancha=..&amp;fechaHora=..
+ * </pre>
+ */
+public class ServidorReservas implements AutoCloseable {
+
+    private static final String RUTA_RESERVAS = "/reservas";
+    private static final int SOLICITUDES_EN_COLA_POR_HILO = 16;
+    private static final System.Logger LOG = System.getLogger(ServidorReservas.class.getName());
+    // Marca las solicitudes que el pool rechazó y se atienden en el hilo que acepta conexiones
+    private static final ThreadLocal<Boolean> SATURADO = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ReservaService reservaService;
+    private final CanchaService canchaService;
+    // null si las reservas nuevas van directo al servicio
+    private final ControlAdmision controlAdmision;
+    private final HttpServer servidor;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Crea el servidor sin iniciarlo, con {@value #SOLICITUDES_EN_COLA_POR_HILO}
+     * solicitudes en espera por hilo
+     * @param reservaService servicio de reservas
+     * @param canchaService servicio de canchas
+     * @param direccion dirección de escucha (puerto 0 para uno libre)
+     * @param hilos hilos que atienden solicitudes
+     */
+    public ServidorReservas(ReservaService reservaService, CanchaService canchaService,
+                            InetSocketAddress direccion, int hilos) throws IOException {
+        this(reservaService, canchaService, direccion, hilos, hilos * SOLICITUDES_EN_COLA_POR_HILO);
+    }
+
+    /**
+     * Crea el servidor sin iniciarlo
+     * @param reservaService servicio de reservas
+     * @param canchaService servicio de canchas
+     * @param direccion dirección de escucha (puerto 0 para uno libre)
+     * @param hilos hilos que atienden solicitudes
+     * @param capacidadCola solicitudes en espera antes de responder 503
+     */
+    public ServidorReservas(ReservaService reservaService, CanchaService canchaService,
+                            InetSocketAddress direccion, int hilos, int capacidadCola) throws IOException {
+        this(reservaService, canchaService, null, direccion, hilos, capacidadCola);
+    }
+
+    /**
+     * Crea el servidor sin iniciarlo
+     * @param reservaService servicio de reservas
+     * @param canchaService servicio de canchas
+     * @param controlAdmision control de admisión para las reservas nuevas, o null
+     *        para crearlas directamente con el servicio
+     * @param direccion dirección de escucha (puerto 0 para uno libre)
+     * @param hilos hilos que atienden solicitudes
+     * @param capacidadCola solicitudes en espera antes de responder 503
+     */
+    public ServidorReservas(ReservaService reservaService, CanchaService canchaService,
+                            ControlAdmision controlAdmision, InetSocketAddress direccion,
+                            int hilos, int capacidadCola) throws IOException {
+        this.reservaService = reservaService;
+        this.canchaService = canchaService;
+        this.controlAdmision = controlAdmision;
+        this.servidor = HttpServer.create(direccion, 0);
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacidadCola), ServidorReservas::rechazar);
+        servidor.setExecutor(executor);
+        servidor.createContext("/canchas", intercambio -> atender(intercambio, this::canchas));
+        servidor.createContext(RUTA_RESERVAS, intercambio -> atender(intercambio, this::reservas));
+        servidor.createContext("/disponibilidad", intercambio -> atender(intercambio, this::disponibilidad));
+    }
+
+    /**
+     * Ejecuta la solicitud rechazada en el hilo que la entrega, marcada para
+     * que {@link #atender} solo responda 503
+     */
+    private static void rechazar(Runnable solicitud, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("El servidor está detenido");
+        }
+        SATURADO.set(Boolean.TRUE);
+        try {
+            solicitud.run();
+        } finally {
+            SATURADO.remove();
+        }
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Obtiene el puerto efectivo de escucha
+     * @return el puerto
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdown();
+    }
+
+    private void canchas(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        exigirRuta(intercambio, "/canchas");
+        exigirMetodo(intercambio, "GET");
+        String tipo = parametros.get("tipo");
+        List<Cancha> canchas = tipo != null
+            ? canchaService.obtenerPorTipoDeporte(TipoDeporte.valueOf(tipo))
+            : canchaService.obtenerTodasLasCanchas();
+        try (Writer salida = responder(intercambio, 200)) {
+            new EscritorJson(salida).canchas(canchas);
+        }
+    }
+
+    private void reservas(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        String ruta = intercambio.getRequestURI().getPath();
+        String metodo = intercambio.getRequestMethod();
+        if (ruta.equals(RUTA_RESERVAS) || ruta.equals(RUTA_RESERVAS + "/")) {
+            if ("POST".equals(metodo)) {
+                crearReserva(intercambio, parametros);
+            } else {
+                exigirMetodo(intercambio, "GET");
+                listarReservas(intercambio, parametros);
+            }
+            return;
+        }
+        if (!ruta.startsWith(RUTA_RESERVAS + "/")) {
+            throw new RecursoNoEncontradoException("No existe la ruta: " + ruta);
+        }
+
+        Long id = parsearId(ruta.substring(RUTA_RESERVAS.length() + 1));
+        if ("PUT".equals(metodo)) {
+            Reserva reserva = reservaService.modificarReserva(id, parsearFechaHora(requerido(parametros, "fechaHora")));
+            try (Writer salida = responder(intercambio, 200)) {
+                new EscritorJson(salida).reserva(reserva);
+            }
+        } else {
+            exigirMetodo(intercambio, "DELETE");
+            reservaService.cancelarReserva(id);
+            intercambio.sendResponseHeaders(204, -1);
+            intercambio.close();
+        }
+    }
+
+    private void crearReserva(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        Cancha cancha = buscarCancha(requerido(parametros, "cancha"));
+        LocalDateTime fechaHora = parsearFechaHora(requerido(parametros, "fechaHora"));
+        String usuario = requerido(parametros, "usuario");
+        Reserva reserva = controlAdmision == null
+            ? reservaService.crearReserva(cancha, fechaHora, usuario)
+            : esperar(controlAdmision.crearReserva(cancha, fechaHora, usuario));
+        try (Writer salida = responder(intercambio, 201)) {
+            new EscritorJson(salida).reserva(reserva);
+        }
+    }
+
+    /**
+     * Espera una reserva admitida; las excepciones del servicio se relanzan
+     * tal cual para que {@link #atender} las traduzca
+     */
+    private static Reserva esperar(CompletableFuture<Reserva> resultado) {
+        try {
+            return resultado.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falló la creación de la reserva", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolicitudRechazadaException("Solicitud interrumpida mientras esperaba admisión");
+        }
+    }
+
+    private void listarReservas(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        List<Reserva> reservas;
+        if (parametros.containsKey("desde") || parametros.containsKey("hasta")) {
+            reservas = listarReservasPorRango(parametros);
+        } else if (parametros.containsKey("usuario")) {
+            reservas = reservaService.obtenerReservasDeUsuario(parametros.get("usuario"));
+        } else if (parametros.containsKey("fecha")) {
+            reservas = reservaService.obtenerReservasPorFecha(parsearFecha(parametros.get("fecha")));
+        } else if (parametros.containsKey("estado")) {
+            reservas = reservaService.obtenerReservasPorEstado(EstadoReserva.valueOf(parametros.get("estado")));
+        } else {
+            reservas = reservaService.obtenerReservasActivas();
+        }
+        try (Writer salida = responder(intercambio, 200)) {
+            new EscritorJson(salida).reservas(reservas);
+        }
+    }
+
+    private List<Reserva> listarReservasPorRango(Map<String, String> parametros) {
+        LocalDateTime desde = parsearFechaHora(requerido(parametros, "desde"));
+        LocalDateTime hasta = parsearFechaHora(requerido(parametros, "hasta"));
+        if (parametros.containsKey("cancha")) {
+            return reservaService.obtenerReservasPorRango(desde, hasta, buscarCancha(parametros.get("cancha")));
+        }
+        if (parametros.containsKey("tipo")) {
+            return reservaService.obtenerReservasPorRango(desde, hasta, TipoDeporte.valueOf(parametros.get("tipo")));
+        }
+        if (parametros.containsKey("estado")) {
+            return reservaService.obtenerReservasPorRango(desde, hasta, EstadoReserva.valueOf(parametros.get("estado")));
+        }
+        return reservaService.obtenerReservasPorRango(desde, hasta);
+    }
+
+    private void disponibilidad(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        exigirRuta(intercambio, "/disponibilidad");
+        exigirMetodo(intercambio, "GET");
+        Cancha cancha = buscarCancha(requerido(parametros, "cancha"));
+        LocalDateTime fechaHora = parsearFechaHora(requerido(parametros, "fechaHora"));
+        boolean disponible = reservaService.esCanchaDisponible(cancha, fechaHora);
+        try (Writer salida = responder(intercambio, 200)) {
+            new EscritorJson(salida).disponibilidad(cancha.getNombre(), fechaHora, disponible);
+        }
+    }
+
+    private Cancha buscarCancha(String nombre) {
+        return canchaService.buscarPorNombre(nombre)
+            .orElseThrow(() -> new RecursoNoEncontradoException("No existe la cancha: " + nombre));
+    }
+
+    /**
+     * Ejecuta un manejador traduciendo las excepciones del dominio a códigos HTTP
+     */
+    private void atender(HttpExchange intercambio, Manejador manejador) throws IOException {
+        if (SATURADO.get()) {
+            error(intercambio, 503, "Servidor saturado, reintente más tarde", null);
+            return;
+        }
+        try {
+            manejador.manejar(intercambio, parsearQuery(intercambio.getRequestURI().getRawQuery()));
+        } catch (MetodoNoPermitidoException e) {
+            error(intercambio, 405, e.getMessage(), e);
+        } catch (RecursoNoEncontradoException | ReservaNoEncontradaException e) {
+            error(intercambio, 404, e.getMessage(), e);
+        } catch (CanchaNoDisponibleException e) {
+            if (!respuestaIniciada(intercambio, e)) {
+                try (Writer salida = responder(intercambio, 409)) {
+                    new EscritorJson(salida).error(e.getMessage(), e.getAlternativas());
+                }
+            }
+        } catch (CuotaExcedidaException | SolicitudRechazadaException e) {
+            error(intercambio, 429, e.getMessage(), e);
+        } catch (ReservaException e) {
+            error(intercambio, 422, e.getMessage(), e);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            error(intercambio, 400, "Solicitud inválida: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            LOG.log(System.Logger.Level.ERROR, "Error al atender " + intercambio.getRequestMethod()
+                + " " + intercambio.getRequestURI(), e);
+            error(intercambio, 500, "Error interno", e);
+        }
+    }
+
+    private static void error(HttpExchange intercambio, int codigo, String mensaje, RuntimeException causa)
+            throws IOException {
+        if (respuestaIniciada(intercambio, causa)) {
+            return;
+        }
+        try (Writer salida = responder(intercambio, codigo)) {
+            new EscritorJson(salida).error(mensaje);
+        }
+    }
+
+    /**
+     * Si los encabezados ya se enviaron no se puede cambiar el código: se
+     * cierra el intercambio para que el cliente vea la respuesta incompleta
+     * @return true si la respuesta ya estaba iniciada
+     */
+    private static boolean respuestaIniciada(HttpExchange intercambio, RuntimeException causa) {
+        if (intercambio.getResponseCode() == -1) {
+            return false;
+        }
+        LOG.log(System.Logger.Level.WARNING, "Falla con la respuesta ya iniciada en "
+            + intercambio.getRequestURI() + "; se cierra la conexión", causa);
+        intercambio.close();
+        return true;
+    }
+
+    private static Writer responder(HttpExchange intercambio, int codigo) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, 0);
+        return new BufferedWriter(new OutputStreamWriter(intercambio.getResponseBody(), StandardCharsets.UTF_8));
+    }
+
+    private static void exigirRuta(HttpExchange intercambio, String ruta) {
+        String solicitada = intercambio.getRequestURI().getPath();
+        if (!solicitada.equals(ruta) && !solicitada.equals(ruta + "/")) {
+            throw new RecursoNoEncontradoException("No existe la ruta: " + solicitada);
+        }
+    }
+
+    private static void exigirMetodo(HttpExchange intercambio, String metodo) {
+        if (!metodo.equals(intercambio.getRequestMethod())) {
+            throw new MetodoNoPermitidoException("Método no permitido: " + intercambio.getRequestMethod());
+        }
+    }
+
+    static Map<String, String> parsearQuery(String query) {
+        Map<String, String> parametros = new HashMap<>();
+        if (query == null || query.isEmpty()) {
+            return parametros;
+        }
+        for (String par : query.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8),
+                URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    private static String requerido(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        if (valor == null || valor.isEmpty()) {
+            throw new IllegalArgumentException("falta el parámetro " + nombre);
+        }
+        return valor;
+    }
+
+    private static Long parsearId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID de reserva inválido: " + id);
+        }
+    }
+
+    private static LocalDateTime parsearFechaHora(String valor) {
+        return LocalDateTime.parse(valor);
+    }
+
+    private static LocalDate parsearFecha(String valor) {
+        return LocalDate.parse(valor);
+    }
+
+    @FunctionalInterface
+    private interface Manejador {
+        void manejar(HttpExchange intercambio, Map<String, String> parametros) throws IOException;
+    }
+
+    private static final class MetodoNoPermitidoException extends RuntimeException {
+        private MetodoNoPermitidoException(String mensaje) {
+            super(mensaje);
+        }
+    }
+
+    private static final class RecursoNoEncontradoException extends RuntimeException {
+        private RecursoNoEncontradoException(String mensaje) {
+            super(mensaje);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package cl.kibernumacademy.reservas.arranque;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.CatalogoCanchasEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.service.CanchaService;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Mide el arranque de un proceso batch típico: construir los servicios,
+ * cargar el catálogo y las reservas y responder las primeras consultas.
+ *
+ * Informa el tiempo hasta la primera respuesta, contado desde el inicio de la
+ * JVM y desde la entrada a {@code main}, y la memoria residente (VmRSS, solo
+ * en Linux). El perfil {@code arranque-rapido} del pom lo ejecuta una vez para
+ * generar el archivo AppCDS y luego lo mide con y sin ese archivo.
+ *
+ * Está en el código principal para que el archivo se genere con el classpath
+ * de producción (solo el JAR del proyecto): AppCDS exige que ese classpath sea
+ * un prefijo del que usa el proceso batch, que puede agregar sus propios JARs
+ * a continuación.
+ */
+public class MedicionArranque {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 6, 0, 0);
+
+    private final int canchas;
+    private final int reservas;
+
+    MedicionArranque(int canchas, int reservas) {
+        this.canchas = canchas;
+        this.reservas = reservas;
+    }
+
+    /**
+     * Construye los servicios, carga los datos y hace las primeras consultas
+     * @return las respuestas, para que no se descarten las consultas
+     */
+    List<Object> primerasConsultas() {
+        List<LocalTime> horarios = new ArrayList<>();
+        for (int hora = 8; hora < 22; hora++) {
+            horarios.add(LocalTime.of(hora, 0));
+        }
+        TipoDeporte[] tipos = TipoDeporte.values();
+        CatalogoCanchasEnMemoria catalogo = new CatalogoCanchasEnMemoria();
+        List<Cancha> registradas = new ArrayList<>(canchas);
+        for (int i = 0; i < canchas; i++) {
+            registradas.add(new Cancha("Cancha " + i, tipos[i % tipos.length], horarios));
+        }
+        catalogo.saveAll(registradas);
+        CanchaService canchaService = new CanchaService(catalogo);
+
+        ReservaRepositoryEnMemoria reservaRepository = new ReservaRepositoryEnMemoria();
+        int porDia = canchas * horarios.size();
+        for (int i = 0; i < reservas; i++) {
+            int franja = i % porDia;
+            reservaRepository.save(new Reserva(registradas.get(franja % canchas),
+                INICIO.plusDays(i / porDia).with(horarios.get(franja / canchas)), "Usuario " + i % 500));
+        }
+        ReservaService reservaService = new ReservaService(reservaRepository);
+
+        List<Object> respuestas = new ArrayList<>();
+        respuestas.add(canchaService.obtenerPorTipoDeporte(TipoDeporte.TENIS).size());
+        respuestas.add(reservaService.esCanchaDisponible(registradas.get(0), INICIO.with(horarios.get(0))));
+        return respuestas;
+    }
+
+    /**
+     * Lee la memoria residente del proceso
+     * @return VmRSS en kB, o -1 si no está disponible
+     */
+    static long memoriaResidenteKb() {
+        try {
+            for (String linea : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (linea.startsWith("VmRSS:")) {
+                    return Long.parseLong(linea.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Fuera de Linux no hay /proc
+        }
+        return -1;
+    }
+
+    /**
+     * Argumentos opcionales: etiqueta de la ejecución, canchas y reservas.
+     */
+    public static void main(String[] args) {
+        long inicioMain = System.nanoTime();
+        String etiqueta = args.length > 0 ? args[0] : "medicion";
+        int canchas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int reservas = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+
+        List<Object> respuestas = new MedicionArranque(canchas, reservas).primerasConsultas();
+        long finConsultas = System.nanoTime();
+        long desdeMain = (finConsultas - inicioMain) / 1_000_000;
+        // Cargar java.management toma tiempo: se descuenta lo transcurrido desde las consultas
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        long desdeJvm = uptime - (System.nanoTime() - finConsultas) / 1_000_000;
+
+        long rss = memoriaResidenteKb();
+        System.out.println(String.format(Locale.ROOT,
+            "%s: primera consulta a los %d ms de iniciar la JVM (%d ms desde main), VmRSS=%s, respuestas=%s",
+            etiqueta, desdeJvm, desdeMain, rss < 0 ? "n/d" : rss / 1024 + " MB", respuestas));
+    }
+}
@@ -0,0 +1,342 @@
+package cl.kibernumacademy.reservas.codec;
+
+import cl.kibernumacademy.reservas.exception.CodificacionException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codec binario versionado para {@link Reserva} y {@link Cancha}.
+ *
+ * Formato (versión 1), todos los enteros como varint (LEB128, con zigzag los
+ * que pueden ser negativos):
+ * <pre>
+ * Cancha:  version | id interno | nombre | tipo (0 = nulo) | n | n x segundo del día
+ * Reserva: version | flags | [id] | [id interno cancha] | [minuto epoch] | [usuario] | [estado]
+ * </pre>
+ * Tipos de deporte y estados se guardan con un código fijo por constante
+ * ({@link #codigo(TipoDeporte)}, {@link #codigo(EstadoReserva)}), no con su
+ * ordinal, de modo que reordenar o agregar constantes no cambia el
+ * significado de los datos ya escritos. Los códigos no se reutilizan.
+ * Las cadenas son longitud + UTF-8 y la fecha/hora de la reserva se guarda
+ * como minutos desde 1970-01-01T00:00, por lo que debe tener segundos en cero.
+ * Las reservas referencian su cancha por el ID de la {@link TablaCanchas}.
+ *
+ * Una entrada truncada o corrupta (IDs, cantidades o fechas fuera de rango)
+ * se rechaza con {@link CodificacionException} antes de reservar memoria.
+ *
+ * La decodificación lee directamente del {@link ByteBuffer} (heap o directo)
+ * sin copiar el registro; en buffers con arreglo accesible las cadenas se
+ * decodifican desde el arreglo subyacente.
+ */
+public class CodecReservas {
+
+    public static final byte VERSION = 1;
+
+    private static final int CON_ID = 1;
+    private static final int CON_CANCHA = 1 << 1;
+    private static final int CON_FECHA = 1 << 2;
+    private static final int CON_USUARIO = 1 << 3;
+    private static final int CON_ESTADO = 1 << 4;
+
+    private final TablaCanchas tablaCanchas;
+
+    public CodecReservas(TablaCanchas tablaCanchas) {
+        this.tablaCanchas = tablaCanchas;
+    }
+
+    public TablaCanchas getTablaCanchas() {
+        return tablaCanchas;
+    }
+
+    /**
+     * Escribe la definición de una cancha, internándola si es necesario
+     * @param destino buffer de salida
+     * @param cancha la cancha
+     * @throws CodificacionException si la cancha no tiene nombre
+     */
+    public void escribirCancha(ByteBuffer destino, Cancha cancha) {
+        if (cancha.getNombre() == null) {
+            throw new CodificacionException("La cancha debe tener nombre para codificarse");
+        }
+        destino.put(VERSION);
+        escribirVarint(destino, tablaCanchas.internar(cancha));
+        escribirCadena(destino, cancha.getNombre());
+        destino.put((byte) (cancha.getTipoDeporte() == null ? 0 : codigo(cancha.getTipoDeporte())));
+        List<LocalTime> horarios = cancha.getHorariosDisponibles();
+        int cantidad = horarios == null ? 0 : horarios.size();
+        escribirVarint(destino, cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            escribirVarint(destino, horarios.get(i).toSecondOfDay());
+        }
+    }
+
+    /**
+     * Lee una definición de cancha y la registra en la tabla con su ID
+     * @param origen buffer de entrada
+     * @return la cancha leída
+     */
+    public Cancha leerCancha(ByteBuffer origen) {
+        try {
+            verificarVersion(origen.get());
+            int id = leerVarint(origen);
+            if (id < 0 || id >= TablaCanchas.MAXIMO_CANCHAS) {
+                throw new CodificacionException("ID interno de cancha inválido: " + id);
+            }
+            String nombre = leerCadena(origen);
+            int codigoTipo = origen.get();
+            TipoDeporte tipo = codigoTipo == 0 ? null : tipoDeporte(codigoTipo);
+            int cantidad = leerVarint(origen);
+            // Cada horario ocupa al menos un byte
+            if (cantidad < 0 || cantidad > origen.remaining()) {
+                throw new CodificacionException("Cantidad de horarios inválida: " + cantidad);
+            }
+            List<LocalTime> horarios = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                horarios.add(LocalTime.ofSecondOfDay(leerVarint(origen)));
+            }
+            Cancha cancha = new Cancha(nombre, tipo, horarios);
+            tablaCanchas.registrar(id, cancha);
+            return cancha;
+        } catch (BufferUnderflowException e) {
+            throw new CodificacionException("Definición de cancha truncada", e);
+        } catch (DateTimeException e) {
+            throw new CodificacionException("Horario de cancha inválido", e);
+        }
+    }
+
+    /**
+     * Escribe una reserva; su cancha se referencia por ID interno
+     * @param destino buffer de salida (ver {@link #tamanoMaximo(Reserva)})
+     * @param reserva la reserva
+     */
+    public void escribirReserva(ByteBuffer destino, Reserva reserva) {
+        int flags = (reserva.getId() != null ? CON_ID : 0)
+            | (reserva.getCancha() != null ? CON_CANCHA : 0)
+            | (reserva.getFechaHora() != null ? CON_FECHA : 0)
+            | (reserva.getNombreUsuario() != null ? CON_USUARIO : 0)
+            | (reserva.getEstado() != null ? CON_ESTADO : 0);
+        destino.put(VERSION);
+        destino.put((byte) flags);
+        if ((flags & CON_ID) != 0) {
+            escribirVarlong(destino, zigzag(reserva.getId()));
+        }
+        if ((flags & CON_CANCHA) != 0) {
+            escribirVarint(destino, tablaCanchas.internar(reserva.getCancha()));
+        }
+        if ((flags & CON_FECHA) != 0) {
+            escribirVarlong(destino, zigzag(aMinutoEpoch(reserva.getFechaHora())));
+        }
+        if ((flags & CON_USUARIO) != 0) {
+            escribirCadena(destino, reserva.getNombreUsuario());
+        }
+        if ((flags & CON_ESTADO) != 0) {
+            destino.put((byte) codigo(reserva.getEstado()));
+        }
+    }
+
+    /**
+     * Lee una reserva desde la posición actual del buffer
+     * @param origen buffer de entrada
+     * @return la reserva decodificada
+     */
+    public Reserva leerReserva(ByteBuffer origen) {
+        try {
+            verificarVersion(origen.get());
+            int flags = origen.get();
+            Reserva reserva = new Reserva();
+            reserva.setEstado(null);
+            if ((flags & CON_ID) != 0) {
+                reserva.setId(deszigzag(leerVarlong(origen)));
+            }
+            if ((flags & CON_CANCHA) != 0) {
+                reserva.setCancha(tablaCanchas.obtener(leerVarint(origen)));
+            }
+            if ((flags & CON_FECHA) != 0) {
+                reserva.setFechaHora(desdeMinutoEpoch(deszigzag(leerVarlong(origen))));
+            }
+            if ((flags & CON_USUARIO) != 0) {
+                reserva.setNombreUsuario(leerCadena(origen));
+            }
+            if ((flags & CON_ESTADO) != 0) {
+                reserva.setEstado(estado(origen.get()));
+            }
+            return reserva;
+        } catch (BufferUnderflowException e) {
+            throw new CodificacionException("Reserva truncada", e);
+        } catch (DateTimeException | ArithmeticException e) {
+            throw new CodificacionException("Fecha/hora de reserva inválida", e);
+        }
+    }
+
+    /**
+     * Cota superior del tamaño codificado de una reserva
+     * @param reserva la reserva
+     * @return bytes máximos que ocupará
+     */
+    public static int tamanoMaximo(Reserva reserva) {
+        int usuario = reserva.getNombreUsuario() == null ? 0 : 5 + 3 * reserva.getNombreUsuario().length();
+        return 2 + 10 + 5 + 10 + usuario + 1;
+    }
+
+    /**
+     * Cota superior del tamaño codificado de una cancha
+     * @param cancha la cancha
+     * @return bytes máximos que ocupará
+     */
+    public static int tamanoMaximo(Cancha cancha) {
+        int nombre = cancha.getNombre() == null ? 0 : 3 * cancha.getNombre().length();
+        int horarios = cancha.getHorariosDisponibles() == null ? 0 : cancha.getHorariosDisponibles().size();
+        return 1 + 5 + 5 + nombre + 1 + 5 + 3 * horarios;
+    }
+
+    /**
+     * Convierte una fecha/hora a minutos desde la época
+     * @throws CodificacionException si tiene segundos o nanosegundos
+     */
+    public static long aMinutoEpoch(LocalDateTime fechaHora) {
+        if (fechaHora.getSecond() != 0 || fechaHora.getNano() != 0) {
+            throw new CodificacionException("La fecha/hora debe estar en minutos exactos: " + fechaHora);
+        }
+        return Math.floorDiv(fechaHora.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    public static LocalDateTime desdeMinutoEpoch(long minuto) {
+        return LocalDateTime.ofEpochSecond(Math.multiplyExact(minuto, 60), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Código persistente de un tipo de deporte; el switch no tiene rama por
+     * defecto para que una constante nueva no compile sin su código
+     */
+    static int codigo(TipoDeporte tipo) {
+        return switch (tipo) {
+            case FUTBOL -> 1;
+            case BASQUETBOL -> 2;
+            case TENIS -> 3;
+            case VOLEIBOL -> 4;
+            case PADDLE -> 5;
+        };
+    }
+
+    private static TipoDeporte tipoDeporte(int codigo) {
+        return switch (codigo) {
+            case 1 -> TipoDeporte.FUTBOL;
+            case 2 -> TipoDeporte.BASQUETBOL;
+            case 3 -> TipoDeporte.TENIS;
+            case 4 -> TipoDeporte.VOLEIBOL;
+            case 5 -> TipoDeporte.PADDLE;
+            default -> throw new CodificacionException("Tipo de deporte inválido: " + codigo);
+        };
+    }
+
+    /**
+     * Código persistente de un estado de reserva (los de la versión 1)
+     */
+    static int codigo(EstadoReserva estado) {
+        return switch (estado) {
+            case ACTIVA -> 0;
+            case CANCELADA -> 1;
+            case COMPLETADA -> 2;
+            case PENDIENTE -> 3;
+        };
+    }
+
+    private static EstadoReserva estado(int codigo) {
+        return switch (codigo) {
+            case 0 -> EstadoReserva.ACTIVA;
+            case 1 -> EstadoReserva.CANCELADA;
+            case 2 -> EstadoReserva.COMPLETADA;
+            case 3 -> EstadoReserva.PENDIENTE;
+            default -> throw new CodificacionException("Estado de reserva inválido: " + codigo);
+        };
+    }
+
+    private static void verificarVersion(byte version) {
+        if (version < 1 || version > VERSION) {
+            throw new CodificacionException("Versión de formato no soportada: " + version);
+        }
+    }
+
+    private static void escribirCadena(ByteBuffer destino, String valor) {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        escribirVarint(destino, bytes.length);
+        destino.put(bytes);
+    }
+
+    private static String leerCadena(ByteBuffer origen) {
+        int longitud = leerVarint(origen);
+        if (longitud < 0 || longitud > origen.remaining()) {
+            throw new CodificacionException("Longitud de cadena inválida: " + longitud);
+        }
+        String valor;
+        if (origen.hasArray()) {
+            valor = new String(origen.array(), origen.arrayOffset() + origen.position(), longitud,
+                StandardCharsets.UTF_8);
+            origen.position(origen.position() + longitud);
+        } else {
+            byte[] bytes = new byte[longitud];
+            origen.get(bytes);
+            valor = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return valor;
+    }
+
+    static void escribirVarint(ByteBuffer destino, int valor) {
+        while ((valor & ~0x7F) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    static int leerVarint(ByteBuffer origen) {
+        int resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+            byte b = origen.get();
+            resultado |= (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return resultado;
+            }
+        }
+        throw new CodificacionException("Varint demasiado largo");
+    }
+
+    static void escribirVarlong(ByteBuffer destino, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    static long leerVarlong(ByteBuffer origen) {
+        long resultado = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = origen.get();
+            resultado |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return resultado;
+            }
+        }
+        throw new CodificacionException("Varlong demasiado largo");
+    }
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+}
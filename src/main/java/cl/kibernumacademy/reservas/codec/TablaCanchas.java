@@ -0,0 +1,101 @@
+package cl.kibernumacademy.reservas.codec;
+
+import cl.kibernumacademy.reservas.exception.CodificacionException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla de canchas internadas: asigna a cada cancha (por nombre) un ID
+ * entero compacto para que las reservas la referencien en lugar de
+ * incrustarla. Emisor y receptor deben compartir la tabla, o bien el emisor
+ * envía primero la definición con {@link CodecReservas#escribirCancha}.
+ */
+public class TablaCanchas {
+
+    /** Límite de IDs internos; acota la memoria que puede reservar una entrada corrupta */
+    public static final int MAXIMO_CANCHAS = 1 << 20;
+
+    private final Map<String, Integer> idPorNombre = new HashMap<>();
+    private final List<Cancha> canchas = new ArrayList<>();
+
+    /**
+     * Obtiene el ID de la cancha, asignándole uno nuevo si no estaba internada
+     * @param cancha la cancha
+     * @return el ID interno
+     * @throws CodificacionException si la cancha no tiene nombre o la tabla está llena
+     */
+    public synchronized int internar(Cancha cancha) {
+        if (cancha.getNombre() == null) {
+            throw new CodificacionException("La cancha debe tener nombre para internarse");
+        }
+        Integer id = idPorNombre.get(cancha.getNombre());
+        if (id != null) {
+            canchas.set(id, cancha);
+            return id;
+        }
+        id = canchas.size();
+        if (id >= MAXIMO_CANCHAS) {
+            throw new CodificacionException("Se alcanzó el máximo de " + MAXIMO_CANCHAS + " canchas internadas");
+        }
+        idPorNombre.put(cancha.getNombre(), id);
+        canchas.add(cancha);
+        return id;
+    }
+
+    /**
+     * Indica si la cancha ya tiene ID asignado
+     * @param cancha la cancha
+     * @return true si está internada
+     */
+    public synchronized boolean contiene(Cancha cancha) {
+        return idPorNombre.containsKey(cancha.getNombre());
+    }
+
+    /**
+     * Obtiene el ID de una cancha sin internarla
+     * @param cancha la cancha
+     * @return el ID interno, o -1 si no está internada
+     */
+    public synchronized int buscar(Cancha cancha) {
+        Integer id = idPorNombre.get(cancha.getNombre());
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Registra una cancha recibida con el ID que le asignó el emisor
+     * @param id el ID interno
+     * @param cancha la cancha
+     * @throws CodificacionException si el ID está fuera de rango
+     */
+    synchronized void registrar(int id, Cancha cancha) {
+        if (id < 0 || id >= MAXIMO_CANCHAS) {
+            throw new CodificacionException("ID interno de cancha inválido: " + id);
+        }
+        while (canchas.size() <= id) {
+            canchas.add(null);
+        }
+        Cancha anterior = canchas.get(id);
+        if (anterior != null && !anterior.getNombre().equals(cancha.getNombre())) {
+            idPorNombre.remove(anterior.getNombre());
+        }
+        canchas.set(id, cancha);
+        idPorNombre.put(cancha.getNombre(), id);
+    }
+
+    /**
+     * Obtiene la cancha asociada a un ID
+     * @param id el ID interno
+     * @return la cancha
+     * @throws CodificacionException si el ID no está registrado
+     */
+    public synchronized Cancha obtener(int id) {
+        Cancha cancha = id >= 0 && id < canchas.size() ? canchas.get(id) : null;
+        if (cancha == null) {
+            throw new CodificacionException("Cancha no registrada con ID interno: " + id);
+        }
+        return cancha;
+    }
+}
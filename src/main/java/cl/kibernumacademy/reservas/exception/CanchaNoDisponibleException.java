@@ -1,12 +1,32 @@
 package cl.kibernumacademy.reservas.exception;
 
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
+import java.util.Collections;
+import java.util.List;
+
 public class CanchaNoDisponibleException extends ReservaException {
     
+    private final List<AlternativaReserva> alternativas;
+    
     public CanchaNoDisponibleException(String mensaje) {
-        super(mensaje);
+        this(mensaje, Collections.emptyList());
     }
     
     public CanchaNoDisponibleException(String mensaje, Throwable causa) {
         super(mensaje, causa);
+        this.alternativas = Collections.emptyList();
+    }
+    
+    public CanchaNoDisponibleException(String mensaje, List<AlternativaReserva> alternativas) {
+        super(mensaje);
+        this.alternativas = List.copyOf(alternativas);
+    }
+    
+    /**
+     * Obtiene las alternativas sugeridas, ordenadas de mejor a peor
+     * @return lista de alternativas (vacía si no se calcularon)
+     */
+    public List<AlternativaReserva> getAlternativas() {
+        return alternativas;
     }
 }
\ No newline at end of file
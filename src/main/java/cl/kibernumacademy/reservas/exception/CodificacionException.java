@@ -0,0 +1,12 @@
+package cl.kibernumacademy.reservas.exception;
+
+public class CodificacionException extends ReservaException {
+    
+    public CodificacionException(String mensaje) {
+        super(mensaje);
+    }
+    
+    public CodificacionException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package cl.kibernumacademy.reservas.exception;
+
+public class CuotaExcedidaException extends ReservaException {
+    
+    public CuotaExcedidaException(String mensaje) {
+        super(mensaje);
+    }
+    
+    public CuotaExcedidaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
\ No newline at end of file
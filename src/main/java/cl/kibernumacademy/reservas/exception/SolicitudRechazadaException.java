@@ -0,0 +1,12 @@
+package cl.kibernumacademy.reservas.exception;
+
+public class SolicitudRechazadaException extends ReservaException {
+    
+    public SolicitudRechazadaException(String mensaje) {
+        super(mensaje);
+    }
+    
+    public SolicitudRechazadaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
\ No newline at end of file
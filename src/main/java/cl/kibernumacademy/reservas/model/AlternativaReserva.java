@@ -0,0 +1,36 @@
+package cl.kibernumacademy.reservas.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class AlternativaReserva {
+    private final Cancha cancha;
+    private final LocalDateTime fechaHora;
+    private final boolean mismaCancha;
+    private final long minutosDeDiferencia;
+    
+    // Constructor con parámetros
+    public AlternativaReserva(Cancha cancha, LocalDateTime fechaHora, LocalDateTime fechaHoraSolicitada, boolean mismaCancha) {
+        this.cancha = cancha;
+        this.fechaHora = fechaHora;
+        this.mismaCancha = mismaCancha;
+        this.minutosDeDiferencia = Math.abs(Duration.between(fechaHoraSolicitada, fechaHora).toMinutes());
+    }
+    
+    // Getters
+    public Cancha getCancha() {
+        return cancha;
+    }
+    
+    public LocalDateTime getFechaHora() {
+        return fechaHora;
+    }
+    
+    public boolean isMismaCancha() {
+        return mismaCancha;
+    }
+    
+    public long getMinutosDeDiferencia() {
+        return minutosDeDiferencia;
+    }
+}
\ No newline at end of file
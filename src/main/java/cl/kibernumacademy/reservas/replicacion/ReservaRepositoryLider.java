@@ -0,0 +1,287 @@
+package cl.kibernumacademy.reservas.replicacion;
+
+import cl.kibernumacademy.reservas.codec.CodecReservas;
+import cl.kibernumacademy.reservas.codec.TablaCanchas;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Repositorio líder: delega en el almacenamiento principal y publica cada
+ * cambio como una entrada numerada del registro de replicación.
+ *
+ * Cada entrada es {@code secuencia (8 bytes) | tipo (1 byte) | contenido},
+ * con el contenido codificado por {@link CodecReservas}. La primera vez que
+ * una reserva referencia una cancha, o si su definición cambió desde la última
+ * publicada, se publica antes la definición, para que los seguidores puedan
+ * resolver el ID interno con los datos vigentes.
+ *
+ * Cada cambio se codifica y se publica antes de aplicarlo al delegado, así
+ * una reserva que no se puede codificar (p. ej. con segundos) o que el
+ * transporte no acepta no llega a guardarse en el líder. Para poder publicar
+ * primero, el líder asigna los IDs nuevos. Si el delegado falla después de
+ * publicar, se publica su estado vigente para esa reserva y los seguidores
+ * vuelven a coincidir con el líder.
+ *
+ * Cada {@code entradasPorInstantanea} entradas se publica una instantánea del
+ * estado completo ({@link TransporteReplicacion#publicarInstantanea}), que
+ * permite al transporte descartar las entradas anteriores.
+ */
+public class ReservaRepositoryLider implements ReservaRepository {
+
+    static final byte TIPO_CANCHA = 1;
+    static final byte TIPO_GUARDAR = 2;
+    static final byte TIPO_ELIMINAR = 3;
+    static final byte TIPO_INSTANTANEA = 4;
+    static final int TAMANO_CABECERA = Long.BYTES + 1;
+    static final int ENTRADAS_POR_INSTANTANEA = 10_000;
+
+    private static final System.Logger LOG = System.getLogger(ReservaRepositoryLider.class.getName());
+
+    private final ReservaRepository delegado;
+    private final TransporteReplicacion transporte;
+    private final CodecReservas codec = new CodecReservas(new TablaCanchas());
+    // Última definición publicada de cada cancha, por nombre
+    private final Map<String, DefinicionCancha> canchasPublicadas = new HashMap<>();
+    private final int entradasPorInstantanea;
+    private long secuencia;
+    private long secuenciaInstantanea;
+    private long ultimoId;
+
+    public ReservaRepositoryLider(ReservaRepository delegado, TransporteReplicacion transporte) {
+        this(delegado, transporte, ENTRADAS_POR_INSTANTANEA);
+    }
+
+    /**
+     * @param delegado almacenamiento principal
+     * @param transporte transporte hacia los seguidores
+     * @param entradasPorInstantanea entradas publicadas entre una instantánea y la siguiente
+     */
+    public ReservaRepositoryLider(ReservaRepository delegado, TransporteReplicacion transporte,
+                                  int entradasPorInstantanea) {
+        if (entradasPorInstantanea <= 0) {
+            throw new IllegalArgumentException("Las entradas por instantánea deben ser positivas");
+        }
+        this.delegado = delegado;
+        this.transporte = transporte;
+        this.entradasPorInstantanea = entradasPorInstantanea;
+        this.ultimoId = delegado.findAll().stream().mapToLong(Reserva::getId).max().orElse(0);
+    }
+
+    /**
+     * Obtiene la secuencia del último cambio publicado. Un cliente que acaba
+     * de escribir puede usarla con {@link ReservaRepositorySeguidor#esperarSecuencia}
+     * para leer sus propias escrituras desde una réplica.
+     * @return la última secuencia publicada
+     */
+    public synchronized long getUltimaSecuencia() {
+        return secuencia;
+    }
+
+    @Override
+    public synchronized Reserva save(Reserva reserva) {
+        boolean sinId = reserva.getId() == null;
+        if (sinId) {
+            reserva.setId(ultimoId + 1);
+        }
+        try {
+            Cancha cancha = reserva.getCancha();
+            DefinicionCancha definicion = cancha == null ? null : DefinicionCancha.de(cancha);
+            ByteBuffer entradaCancha = null;
+            if (definicion != null && !definicion.equals(canchasPublicadas.get(cancha.getNombre()))) {
+                entradaCancha = cabecera(CodecReservas.tamanoMaximo(cancha), TIPO_CANCHA);
+                codec.escribirCancha(entradaCancha, cancha);
+            }
+            ByteBuffer entradaReserva = codificar(reserva);
+            if (entradaCancha != null) {
+                publicar(entradaCancha);
+                canchasPublicadas.put(cancha.getNombre(), definicion);
+            }
+            publicar(entradaReserva);
+        } catch (RuntimeException e) {
+            if (sinId) {
+                reserva.setId(null);
+            }
+            throw e;
+        }
+        ultimoId = Math.max(ultimoId, reserva.getId());
+
+        Reserva guardada;
+        try {
+            guardada = delegado.save(reserva);
+        } catch (RuntimeException e) {
+            publicarEstadoVigente(reserva.getId(), e);
+            throw e;
+        }
+        instantaneaSiCorresponde();
+        return guardada;
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        ByteBuffer buffer = cabecera(Long.BYTES, TIPO_ELIMINAR);
+        buffer.putLong(id);
+        publicar(buffer);
+        try {
+            delegado.deleteById(id);
+        } catch (RuntimeException e) {
+            publicarEstadoVigente(id, e);
+            throw e;
+        }
+        instantaneaSiCorresponde();
+    }
+
+    /**
+     * Publica una instantánea con todas las canchas publicadas y todas las
+     * reservas del delegado, etiquetada con la última secuencia publicada
+     */
+    public synchronized void tomarInstantanea() {
+        List<Reserva> reservas = delegado.findAll();
+        Map<String, Cancha> canchas = new LinkedHashMap<>();
+        canchasPublicadas.forEach((nombre, definicion) -> canchas.put(nombre, definicion.aCancha()));
+        for (Reserva reserva : reservas) {
+            if (reserva.getCancha() != null) {
+                canchas.putIfAbsent(reserva.getCancha().getNombre(), reserva.getCancha());
+            }
+        }
+        int tamano = 2 * Integer.BYTES;
+        for (Cancha cancha : canchas.values()) {
+            tamano += CodecReservas.tamanoMaximo(cancha);
+        }
+        for (Reserva reserva : reservas) {
+            tamano += CodecReservas.tamanoMaximo(reserva);
+        }
+        ByteBuffer buffer = cabecera(tamano, TIPO_INSTANTANEA);
+        buffer.putLong(0, secuencia);
+        buffer.putInt(canchas.size());
+        for (Cancha cancha : canchas.values()) {
+            codec.escribirCancha(buffer, cancha);
+        }
+        buffer.putInt(reservas.size());
+        for (Reserva reserva : reservas) {
+            codec.escribirReserva(buffer, reserva);
+        }
+        transporte.publicarInstantanea(secuencia, Arrays.copyOf(buffer.array(), buffer.position()));
+        secuenciaInstantanea = secuencia;
+    }
+
+    private void instantaneaSiCorresponde() {
+        if (secuencia - secuenciaInstantanea < entradasPorInstantanea) {
+            return;
+        }
+        try {
+            tomarInstantanea();
+        } catch (RuntimeException e) {
+            // El cambio ya se aplicó y se publicó; se reintenta con la próxima escritura
+            LOG.log(System.Logger.Level.WARNING, "No se pudo publicar la instantánea de replicación", e);
+        }
+    }
+
+    /**
+     * Tras un fallo del delegado, publica lo que el líder tiene realmente para
+     * esa reserva, para deshacer en los seguidores la entrada ya publicada
+     */
+    private void publicarEstadoVigente(Long id, RuntimeException fallo) {
+        try {
+            Optional<Reserva> vigente = delegado.findById(id);
+            ByteBuffer buffer;
+            if (vigente.isPresent()) {
+                buffer = codificar(vigente.get());
+            } else {
+                buffer = cabecera(Long.BYTES, TIPO_ELIMINAR);
+                buffer.putLong(id);
+            }
+            publicar(buffer);
+        } catch (RuntimeException e) {
+            fallo.addSuppressed(e);
+        }
+    }
+
+    private ByteBuffer codificar(Reserva reserva) {
+        ByteBuffer buffer = cabecera(CodecReservas.tamanoMaximo(reserva), TIPO_GUARDAR);
+        codec.escribirReserva(buffer, reserva);
+        return buffer;
+    }
+
+    /**
+     * Reserva espacio para la cabecera; la secuencia se escribe al publicar
+     */
+    private static ByteBuffer cabecera(int tamanoContenido, byte tipo) {
+        ByteBuffer buffer = ByteBuffer.allocate(TAMANO_CABECERA + tamanoContenido);
+        buffer.putLong(0);
+        buffer.put(tipo);
+        return buffer;
+    }
+
+    private void publicar(ByteBuffer buffer) {
+        long siguiente = secuencia + 1;
+        buffer.putLong(0, siguiente);
+        transporte.publicar(siguiente, Arrays.copyOf(buffer.array(), buffer.position()));
+        secuencia = siguiente;
+    }
+
+    /**
+     * Copia de los campos replicados de una cancha, para detectar cambios
+     * aunque se modifique la misma instancia
+     */
+    private record DefinicionCancha(String nombre, TipoDeporte tipoDeporte, List<LocalTime> horarios) {
+
+        static DefinicionCancha de(Cancha cancha) {
+            List<LocalTime> horarios = cancha.getHorariosDisponibles();
+            return new DefinicionCancha(cancha.getNombre(), cancha.getTipoDeporte(),
+                horarios == null ? null : new ArrayList<>(horarios));
+        }
+
+        Cancha aCancha() {
+            return new Cancha(nombre, tipoDeporte, horarios == null ? null : new ArrayList<>(horarios));
+        }
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        return delegado.findById(id);
+    }
+
+    @Override
+    public List<Reserva> findByCanchaAndFechaHora(Cancha cancha, LocalDateTime fechaHora) {
+        return delegado.findByCanchaAndFechaHora(cancha, fechaHora);
+    }
+
+    @Override
+    public List<Reserva> findByFecha(LocalDate fecha) {
+        return delegado.findByFecha(fecha);
+    }
+
+    @Override
+    public List<Reserva> findByRango(LocalDateTime desde, LocalDateTime hasta) {
+        return delegado.findByRango(desde, hasta);
+    }
+
+    @Override
+    public List<Reserva> findByEstado(EstadoReserva estado) {
+        return delegado.findByEstado(estado);
+    }
+
+    @Override
+    public List<Reserva> findByNombreUsuario(String nombreUsuario) {
+        return delegado.findByNombreUsuario(nombreUsuario);
+    }
+
+    @Override
+    public List<Reserva> findAll() {
+        return delegado.findAll();
+    }
+}
@@ -0,0 +1,211 @@
+package cl.kibernumacademy.reservas.replicacion;
+
+import cl.kibernumacademy.reservas.codec.CodecReservas;
+import cl.kibernumacademy.reservas.codec.TablaCanchas;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Réplica de solo lectura del repositorio de reservas.
+ *
+ * Aplica en orden las entradas que publica el {@link ReservaRepositoryLider}
+ * sobre un {@link ReservaRepositoryEnMemoria} local y atiende desde él las
+ * consultas (disponibilidad, listados). Las escrituras deben hacerse en el
+ * líder; aquí lanzan {@link UnsupportedOperationException}.
+ *
+ * Una instantánea del líder reemplaza por completo el estado local y deja la
+ * réplica en la secuencia que la etiqueta; así se pone al día un seguidor que
+ * se suscribe después de que el transporte descartó entradas antiguas.
+ *
+ * Si una entrada no se puede aplicar, la réplica queda marcada como fallida
+ * ({@link #getFallo()}) y deja de aplicar entradas: sus lecturas siguen
+ * disponibles, pero congeladas en la última secuencia aplicada.
+ */
+public class ReservaRepositorySeguidor implements ReservaRepository {
+
+    // Se reemplazan completos al aplicar una instantánea
+    private volatile ReservaRepositoryEnMemoria local = new ReservaRepositoryEnMemoria();
+    private CodecReservas codec = new CodecReservas(new TablaCanchas());
+    private final TransporteReplicacion transporte;
+    private long secuenciaAplicada;
+    private volatile RuntimeException fallo;
+
+    /**
+     * Crea la réplica y la suscribe al transporte
+     * @param transporte transporte por el que llegan las entradas del líder
+     */
+    public ReservaRepositorySeguidor(TransporteReplicacion transporte) {
+        this.transporte = transporte;
+        transporte.suscribir(this::aplicar);
+    }
+
+    /**
+     * Aplica una entrada del registro. Las entradas ya aplicadas se ignoran y
+     * un salto en la secuencia se considera un error del transporte.
+     * @param entrada la entrada codificada
+     */
+    synchronized void aplicar(byte[] entrada) {
+        if (fallo != null) {
+            return;
+        }
+        try {
+            aplicarEntrada(entrada);
+        } catch (RuntimeException e) {
+            fallo = e;
+            notifyAll();
+            throw e;
+        }
+    }
+
+    private void aplicarEntrada(byte[] entrada) {
+        ByteBuffer buffer = ByteBuffer.wrap(entrada);
+        long secuencia = buffer.getLong();
+        if (secuencia <= secuenciaAplicada) {
+            return;
+        }
+        byte tipo = buffer.get();
+        if (tipo == ReservaRepositoryLider.TIPO_INSTANTANEA) {
+            cargarInstantanea(buffer);
+        } else {
+            if (secuencia != secuenciaAplicada + 1) {
+                throw new IllegalStateException("Entrada de replicación fuera de orden: se esperaba "
+                    + (secuenciaAplicada + 1) + " y llegó " + secuencia);
+            }
+            switch (tipo) {
+                case ReservaRepositoryLider.TIPO_CANCHA:
+                    codec.leerCancha(buffer);
+                    break;
+                case ReservaRepositoryLider.TIPO_GUARDAR:
+                    local.save(codec.leerReserva(buffer));
+                    break;
+                case ReservaRepositoryLider.TIPO_ELIMINAR:
+                    local.deleteById(buffer.getLong());
+                    break;
+                default:
+                    throw new IllegalStateException("Tipo de entrada de replicación desconocido: " + tipo);
+            }
+        }
+        secuenciaAplicada = secuencia;
+        notifyAll();
+    }
+
+    /**
+     * Construye el estado desde una instantánea y lo publica de una vez, para
+     * que las lecturas nunca vean una carga a medias
+     */
+    private void cargarInstantanea(ByteBuffer buffer) {
+        CodecReservas nuevoCodec = new CodecReservas(new TablaCanchas());
+        ReservaRepositoryEnMemoria nuevoLocal = new ReservaRepositoryEnMemoria();
+        int canchas = buffer.getInt();
+        for (int i = 0; i < canchas; i++) {
+            nuevoCodec.leerCancha(buffer);
+        }
+        int reservas = buffer.getInt();
+        for (int i = 0; i < reservas; i++) {
+            nuevoLocal.save(nuevoCodec.leerReserva(buffer));
+        }
+        codec = nuevoCodec;
+        local = nuevoLocal;
+    }
+
+    /**
+     * Obtiene la secuencia de la última entrada aplicada
+     * @return la secuencia aplicada
+     */
+    public synchronized long getSecuenciaAplicada() {
+        return secuenciaAplicada;
+    }
+
+    /**
+     * Obtiene el error que detuvo la réplica
+     * @return el error, o vacío si la réplica sigue aplicando entradas
+     */
+    public Optional<RuntimeException> getFallo() {
+        return Optional.ofNullable(fallo);
+    }
+
+    /**
+     * Obtiene el retraso de replicación en número de entradas
+     * @return entradas publicadas por el líder que aún no se aplican
+     */
+    public long getRetraso() {
+        return Math.max(0, transporte.ultimaSecuenciaPublicada() - getSecuenciaAplicada());
+    }
+
+    /**
+     * Espera hasta que la réplica haya aplicado al menos la secuencia indicada,
+     * lo que permite leer las propias escrituras tras reservar en el líder
+     * @param secuencia secuencia mínima requerida
+     * @param espera tiempo máximo de espera
+     * @return true si la réplica alcanzó la secuencia, false si se agotó la espera
+     *         o la réplica falló
+     */
+    public synchronized boolean esperarSecuencia(long secuencia, Duration espera) throws InterruptedException {
+        long limite = System.nanoTime() + espera.toNanos();
+        while (secuenciaAplicada < secuencia) {
+            if (fallo != null) {
+                return false;
+            }
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                return false;
+            }
+            wait(Math.max(1, restante / 1_000_000));
+        }
+        return true;
+    }
+
+    @Override
+    public Reserva save(Reserva reserva) {
+        throw new UnsupportedOperationException("La réplica es de solo lectura; escriba en el líder");
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        throw new UnsupportedOperationException("La réplica es de solo lectura; escriba en el líder");
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        return local.findById(id);
+    }
+
+    @Override
+    public List<Reserva> findByCanchaAndFechaHora(Cancha cancha, LocalDateTime fechaHora) {
+        return local.findByCanchaAndFechaHora(cancha, fechaHora);
+    }
+
+    @Override
+    public List<Reserva> findByFecha(LocalDate fecha) {
+        return local.findByFecha(fecha);
+    }
+
+    @Override
+    public List<Reserva> findByRango(LocalDateTime desde, LocalDateTime hasta) {
+        return local.findByRango(desde, hasta);
+    }
+
+    @Override
+    public List<Reserva> findByEstado(EstadoReserva estado) {
+        return local.findByEstado(estado);
+    }
+
+    @Override
+    public List<Reserva> findByNombreUsuario(String nombreUsuario) {
+        return local.findByNombreUsuario(nombreUsuario);
+    }
+
+    @Override
+    public List<Reserva> findAll() {
+        return local.findAll();
+    }
+}
@@ -0,0 +1,113 @@
+package cl.kibernumacademy.reservas.replicacion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de replicación dentro de la misma JVM.
+ *
+ * Conserva la última instantánea publicada y las entradas posteriores a ella;
+ * al publicar una instantánea se descartan las entradas que cubre. Un seguidor
+ * que se suscribe tarde recibe la instantánea y luego esas entradas, antes de
+ * las nuevas. Cada suscriptor
+ * tiene su propia cola y un hilo que le entrega las entradas en orden, así
+ * un seguidor lento no frena al líder ni a los demás seguidores.
+ *
+ * Si un receptor lanza una excepción, se registra y el hilo sigue entregando
+ * las entradas siguientes; decidir si la réplica queda inutilizable es
+ * responsabilidad del receptor (ver {@link ReservaRepositorySeguidor#getFallo()}).
+ */
+public class TransporteEnMemoria implements TransporteReplicacion, AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(TransporteEnMemoria.class.getName());
+
+    private final Deque<EntradaRetenida> registro = new ArrayDeque<>();
+    private final List<Suscripcion> suscripciones = new ArrayList<>();
+    private byte[] instantanea;
+    private long ultimaSecuencia;
+    private volatile boolean cerrado;
+
+    @Override
+    public synchronized void publicar(long secuencia, byte[] entrada) {
+        if (cerrado) {
+            throw new IllegalStateException("El transporte de replicación está cerrado");
+        }
+        registro.addLast(new EntradaRetenida(secuencia, entrada));
+        ultimaSecuencia = secuencia;
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.pendientes.add(entrada);
+        }
+    }
+
+    @Override
+    public synchronized void suscribir(Consumer<byte[]> receptor) {
+        Suscripcion suscripcion = new Suscripcion(receptor);
+        if (instantanea != null) {
+            suscripcion.pendientes.add(instantanea);
+        }
+        for (EntradaRetenida retenida : registro) {
+            suscripcion.pendientes.add(retenida.entrada());
+        }
+        suscripciones.add(suscripcion);
+        suscripcion.hilo.start();
+    }
+
+    @Override
+    public synchronized void publicarInstantanea(long secuencia, byte[] instantanea) {
+        if (cerrado) {
+            throw new IllegalStateException("El transporte de replicación está cerrado");
+        }
+        this.instantanea = instantanea;
+        while (!registro.isEmpty() && registro.peekFirst().secuencia() <= secuencia) {
+            registro.removeFirst();
+        }
+    }
+
+    /**
+     * Cantidad de entradas conservadas para suscriptores futuros
+     */
+    synchronized int entradasRetenidas() {
+        return registro.size();
+    }
+
+    @Override
+    public synchronized long ultimaSecuenciaPublicada() {
+        return ultimaSecuencia;
+    }
+
+    @Override
+    public synchronized void close() {
+        cerrado = true;
+        for (Suscripcion suscripcion : suscripciones) {
+            suscripcion.hilo.interrupt();
+        }
+    }
+
+    private record EntradaRetenida(long secuencia, byte[] entrada) {
+    }
+
+    private final class Suscripcion {
+        private final BlockingQueue<byte[]> pendientes = new LinkedBlockingQueue<>();
+        private final Thread hilo;
+
+        private Suscripcion(Consumer<byte[]> receptor) {
+            this.hilo = new Thread(() -> {
+                while (!cerrado) {
+                    try {
+                        receptor.accept(pendientes.take());
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (RuntimeException e) {
+                        LOG.log(System.Logger.Level.ERROR, "El receptor de replicación falló al aplicar una entrada", e);
+                    }
+                }
+            }, "replicacion-seguidor");
+            hilo.setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package cl.kibernumacademy.reservas.replicacion;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por el que el líder envía las entradas del registro de cambios a
+ * los seguidores. Las implementaciones deben entregar las entradas a cada
+ * suscriptor en el mismo orden en que fueron publicadas.
+ */
+public interface TransporteReplicacion {
+    
+    /**
+     * Publica una entrada del registro
+     * @param secuencia número de secuencia de la entrada
+     * @param entrada la entrada codificada
+     */
+    void publicar(long secuencia, byte[] entrada);
+    
+    /**
+     * Suscribe un receptor; recibe la última instantánea publicada, si la hay,
+     * y luego desde la primera entrada conservada
+     * @param receptor receptor de entradas codificadas
+     */
+    void suscribir(Consumer<byte[]> receptor);
+    
+    /**
+     * Obtiene la última secuencia publicada por el líder
+     * @return la última secuencia, o 0 si no hay entradas
+     */
+    long ultimaSecuenciaPublicada();
+    
+    /**
+     * Publica una instantánea del estado del líder hasta la secuencia indicada.
+     * El transporte puede descartar las entradas con esa secuencia o anteriores
+     * y entregar la instantánea en su lugar a los suscriptores nuevos. Por
+     * omisión se ignora, para transportes que conservan todo el registro.
+     * @param secuencia última secuencia incluida en la instantánea
+     * @param instantanea la instantánea codificada
+     */
+    default void publicarInstantanea(long secuencia, byte[] instantanea) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Catálogo de canchas en memoria optimizado para lectura.
+ *
+ * Publica instantáneas inmutables a través de una única referencia volatile:
+ * los lectores solo leen esa referencia y nunca bloquean. Los escritores
+ * (poco frecuentes, p. ej. {@code registrarCancha}) se serializan, construyen
+ * una instantánea nueva con sus índices y la publican de forma atómica. Para
+ * cargar el catálogo completo al arrancar, {@link #saveAll(Collection)}
+ * publica una sola instantánea con todas las canchas en vez de una por cancha.
+ *
+ * Los cambios a una cancha deben guardarse con {@link #save(Cancha)} para que
+ * los índices los reflejen.
+ */
+public class CatalogoCanchasEnMemoria implements CanchaRepository {
+
+    // Estado vigente, solo accesible por los escritores; LinkedHashMap conserva el orden de registro
+    private final Map<String, Cancha> canchas = new LinkedHashMap<>();
+    private volatile Instantanea instantanea = Instantanea.VACIA;
+
+    @Override
+    public synchronized Cancha save(Cancha cancha) {
+        canchas.put(cancha.getNombre(), cancha);
+        instantanea = new Instantanea(canchas);
+        return cancha;
+    }
+
+    /**
+     * Guarda varias canchas publicando una única instantánea, de modo que
+     * cargar n canchas cuesta O(n). Los lectores ven el catálogo anterior o
+     * el catálogo con todas ellas, nunca una carga a medias.
+     * @param nuevas las canchas a guardar, en orden de registro
+     * @return las canchas guardadas
+     */
+    public synchronized List<Cancha> saveAll(Collection<Cancha> nuevas) {
+        for (Cancha cancha : nuevas) {
+            canchas.put(cancha.getNombre(), cancha);
+        }
+        instantanea = new Instantanea(canchas);
+        return List.copyOf(nuevas);
+    }
+
+    @Override
+    public Optional<Cancha> findByNombre(String nombre) {
+        return Optional.ofNullable(instantanea.porNombre.get(nombre));
+    }
+
+    @Override
+    public List<Cancha> findByTipoDeporte(TipoDeporte tipoDeporte) {
+        if (tipoDeporte == null) {
+            return Collections.emptyList();
+        }
+        return instantanea.porTipo.get(tipoDeporte);
+    }
+
+    @Override
+    public List<Cancha> findAll() {
+        return instantanea.todas;
+    }
+
+    @Override
+    public synchronized void deleteByNombre(String nombre) {
+        if (canchas.remove(nombre) != null) {
+            instantanea = new Instantanea(canchas);
+        }
+    }
+
+    /**
+     * Estado inmutable del catálogo con sus índices precalculados
+     */
+    private static final class Instantanea {
+
+        private static final Instantanea VACIA = new Instantanea(Collections.emptyMap());
+
+        private final Map<String, Cancha> porNombre;
+        private final Map<TipoDeporte, List<Cancha>> porTipo;
+        private final List<Cancha> todas;
+
+        private Instantanea(Map<String, Cancha> canchas) {
+            this.porNombre = Collections.unmodifiableMap(new HashMap<>(canchas));
+            this.todas = List.copyOf(canchas.values());
+
+            Map<TipoDeporte, List<Cancha>> agrupadas = new EnumMap<>(TipoDeporte.class);
+            for (TipoDeporte tipo : TipoDeporte.values()) {
+                agrupadas.put(tipo, new ArrayList<>());
+            }
+            for (Cancha cancha : todas) {
+                if (cancha.getTipoDeporte() != null) {
+                    agrupadas.get(cancha.getTipoDeporte()).add(cancha);
+                }
+            }
+            agrupadas.replaceAll((tipo, lista) -> List.copyOf(lista));
+            this.porTipo = agrupadas;
+        }
+    }
+}
@@ -6,7 +6,9 @@ import cl.kibernumacademy.reservas.model.EstadoReserva;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public interface ReservaRepository {
     
@@ -39,6 +41,14 @@ public interface ReservaRepository {
      */
     List<Reserva> findByFecha(LocalDate fecha);
     
+    /**
+     * Busca reservas en un rango de fechas/horas
+     * @param desde inicio del rango (inclusive)
+     * @param hasta fin del rango (exclusive)
+     * @return lista de reservas en el rango, ordenadas por fecha/hora
+     */
+    List<Reserva> findByRango(LocalDateTime desde, LocalDateTime hasta);
+    
     /**
      * Busca reservas por estado
      * @param estado el estado de la reserva
@@ -46,6 +56,19 @@ public interface ReservaRepository {
      */
     List<Reserva> findByEstado(EstadoReserva estado);
     
+    /**
+     * Busca reservas por nombre de usuario. La implementación por defecto
+     * recorre {@link #findAll()}; los repositorios con un índice por usuario
+     * la sobrescriben.
+     * @param nombreUsuario el nombre del usuario
+     * @return lista de reservas del usuario
+     */
+    default List<Reserva> findByNombreUsuario(String nombreUsuario) {
+        return findAll().stream()
+            .filter(r -> Objects.equals(r.getNombreUsuario(), nombreUsuario))
+            .collect(Collectors.toList());
+    }
+    
     /**
      * Obtiene todas las reservas
      * @return lista de todas las reservas
@@ -0,0 +1,239 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación en memoria de {@link ReservaRepository}.
+ *
+ * Las escrituras se serializan para mantener los índices consistentes; las
+ * lecturas no bloquean. Mantiene un índice por usuario para que
+ * {@link #findByNombreUsuario(String)} no recorra todas las reservas, y un
+ * índice temporal ordenado por minuto (una skip list concurrente) con el que
+ * las consultas por franja, día o rango cuestan O(log n + k).
+ *
+ * Cada índice se construye recién con la primera consulta que lo necesita y
+ * desde ahí se mantiene en cada escritura, de modo que un proceso que solo
+ * carga reservas y hace unas pocas consultas no paga índices que no usa.
+ */
+public class ReservaRepositoryEnMemoria implements ReservaRepository {
+
+    private final Map<Long, Reserva> reservas = new ConcurrentHashMap<>();
+    private final AtomicLong secuencia = new AtomicLong();
+
+    // Índice por usuario: nombre de usuario -> IDs de sus reservas
+    private final Map<String, Set<Long>> idsPorUsuario = new ConcurrentHashMap<>();
+    // Usuario bajo el que está indexada cada reserva (la entidad es mutable)
+    private final Map<Long, String> usuarioIndexado = new ConcurrentHashMap<>();
+    // Índice temporal: minuto desde la época -> IDs de las reservas de ese minuto
+    private final ConcurrentSkipListMap<Long, Set<Long>> idsPorMinuto = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> minutoIndexado = new ConcurrentHashMap<>();
+    private volatile boolean indiceUsuarioListo;
+    private volatile boolean indiceTemporalListo;
+
+    @Override
+    public synchronized Reserva save(Reserva reserva) {
+        if (reserva.getId() == null) {
+            reserva.setId(secuencia.incrementAndGet());
+        } else {
+            secuencia.accumulateAndGet(reserva.getId(), Math::max);
+        }
+        reservas.put(reserva.getId(), reserva);
+        if (indiceUsuarioListo) {
+            reindexarUsuario(reserva.getId(), reserva.getNombreUsuario());
+        }
+        if (indiceTemporalListo) {
+            reindexarMinuto(reserva.getId(), reserva.getFechaHora());
+        }
+        return reserva;
+    }
+
+    private Map<String, Set<Long>> indiceUsuario() {
+        if (!indiceUsuarioListo) {
+            construirIndiceUsuario();
+        }
+        return idsPorUsuario;
+    }
+
+    private synchronized void construirIndiceUsuario() {
+        if (!indiceUsuarioListo) {
+            for (Reserva reserva : reservas.values()) {
+                reindexarUsuario(reserva.getId(), reserva.getNombreUsuario());
+            }
+            indiceUsuarioListo = true;
+        }
+    }
+
+    private ConcurrentSkipListMap<Long, Set<Long>> indiceTemporal() {
+        if (!indiceTemporalListo) {
+            construirIndiceTemporal();
+        }
+        return idsPorMinuto;
+    }
+
+    private synchronized void construirIndiceTemporal() {
+        if (!indiceTemporalListo) {
+            for (Reserva reserva : reservas.values()) {
+                reindexarMinuto(reserva.getId(), reserva.getFechaHora());
+            }
+            indiceTemporalListo = true;
+        }
+    }
+
+    private void reindexarUsuario(Long id, String usuario) {
+        String anterior = usuarioIndexado.get(id);
+        if (Objects.equals(anterior, usuario)) {
+            return;
+        }
+        if (anterior != null) {
+            desindexarUsuario(id, anterior);
+        }
+        if (usuario != null) {
+            idsPorUsuario.computeIfAbsent(usuario, u -> ConcurrentHashMap.newKeySet()).add(id);
+            usuarioIndexado.put(id, usuario);
+        }
+    }
+
+    private void desindexarUsuario(Long id, String usuario) {
+        usuarioIndexado.remove(id);
+        idsPorUsuario.computeIfPresent(usuario, (u, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void reindexarMinuto(Long id, LocalDateTime fechaHora) {
+        Long minuto = fechaHora == null ? null : minuto(fechaHora);
+        Long anterior = minutoIndexado.get(id);
+        if (Objects.equals(anterior, minuto)) {
+            return;
+        }
+        // Se indexa antes de desindexar para que una lectura concurrente no la pierda
+        if (minuto != null) {
+            idsPorMinuto.computeIfAbsent(minuto, m -> ConcurrentHashMap.newKeySet()).add(id);
+            minutoIndexado.put(id, minuto);
+        } else {
+            minutoIndexado.remove(id);
+        }
+        if (anterior != null) {
+            desindexarMinuto(id, anterior);
+        }
+    }
+
+    private void desindexarMinuto(Long id, Long minuto) {
+        idsPorMinuto.computeIfPresent(minuto, (m, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static long minuto(LocalDateTime fechaHora) {
+        return Math.floorDiv(fechaHora.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        return Optional.ofNullable(reservas.get(id));
+    }
+
+    @Override
+    public List<Reserva> findByCanchaAndFechaHora(Cancha cancha, LocalDateTime fechaHora) {
+        Set<Long> ids = indiceTemporal().get(minuto(fechaHora));
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<Reserva> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Reserva r = reservas.get(id);
+            if (r != null && r.getCancha() != null && Objects.equals(r.getCancha().getNombre(), cancha.getNombre())
+                    && Objects.equals(r.getFechaHora(), fechaHora)) {
+                resultado.add(r);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<Reserva> findByFecha(LocalDate fecha) {
+        return findByRango(fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    public List<Reserva> findByRango(LocalDateTime desde, LocalDateTime hasta) {
+        if (!desde.isBefore(hasta)) {
+            return Collections.emptyList();
+        }
+        List<Reserva> resultado = new ArrayList<>();
+        // El minuto de 'hasta' se incluye por si tiene segundos; el filtro exacto va abajo
+        for (Set<Long> ids : indiceTemporal().subMap(minuto(desde), true, minuto(hasta), true).values()) {
+            for (Long id : ids) {
+                Reserva r = reservas.get(id);
+                if (r != null && r.getFechaHora() != null
+                        && !r.getFechaHora().isBefore(desde) && r.getFechaHora().isBefore(hasta)) {
+                    resultado.add(r);
+                }
+            }
+        }
+        resultado.sort(Comparator.comparing(Reserva::getFechaHora).thenComparing(Reserva::getId));
+        return resultado;
+    }
+
+    @Override
+    public List<Reserva> findByEstado(EstadoReserva estado) {
+        return reservas.values().stream()
+            .filter(r -> r.getEstado() == estado)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Reserva> findByNombreUsuario(String nombreUsuario) {
+        Set<Long> ids = indiceUsuario().get(nombreUsuario);
+        if (ids == null) {
+            return Collections.emptyList();
+        }
+        List<Reserva> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Reserva reserva = reservas.get(id);
+            if (reserva != null) {
+                resultado.add(reserva);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<Reserva> findAll() {
+        return new ArrayList<>(reservas.values());
+    }
+
+    @Override
+    public synchronized void deleteById(Long id) {
+        Reserva eliminada = reservas.remove(id);
+        if (eliminada != null) {
+            String usuario = usuarioIndexado.get(id);
+            if (usuario != null) {
+                desindexarUsuario(id, usuario);
+            }
+            Long minuto = minutoIndexado.remove(id);
+            if (minuto != null) {
+                desindexarMinuto(id, minuto);
+            }
+        }
+    }
+}
@@ -0,0 +1,608 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.codec.TablaCanchas;
+import cl.kibernumacademy.reservas.exception.CodificacionException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementación de {@link ReservaRepository} que guarda las reservas y el
+ * calendario de franjas fuera del heap, en {@link ByteBuffer} directos.
+ *
+ * Cada reserva es un registro de tamaño fijo:
+ * <pre>
+ * id (8) | cancha (4) | minuto epoch (4) | usuario (4) | siguiente (4) | estado (1) | en uso (1)
+ *        | segundo (1) | relleno (1) | nanosegundo (4)
+ * </pre>
+ * Canchas y usuarios se guardan como IDs de diccionarios en el heap (hay
+ * pocos de ambos). La fecha/hora se guarda exacta, igual que en
+ * {@link ReservaRepositoryEnMemoria}: el minuto epoch sirve de clave de franja
+ * y el segundo y el nanosegundo completan el valor. Dos tablas hash también
+ * fuera del heap indexan los registros por ID y por franja (cancha + minuto);
+ * las reservas de una misma franja se encadenan con el campo
+ * {@code siguiente}, que en los registros libres forma la lista de huecos
+ * reutilizables.
+ *
+ * Un segundo buffer, paralelo a los registros, guarda los enlaces de tres
+ * listas doblemente enlazadas: por usuario, por día y por estado. Sus cabezas
+ * están en tablas hash fuera del heap, así {@link #findByNombreUsuario},
+ * {@link #findByEstado} y {@link #findByRango} recorren solo las reservas
+ * candidatas en lugar de todo el historial, y quitar un registro de una lista
+ * es O(1). Un rango que abarca más días que registros usados se resuelve
+ * recorriendo los registros.
+ *
+ * Así el heap no crece con el historial y el recolector no recorre millones
+ * de reservas vivas: las consultas materializan objetos {@link Reserva}
+ * nuevos, de vida corta, que son copias (modificarlas no cambia el
+ * repositorio hasta volver a llamar a {@link #save(Reserva)}). Dos lecturas
+ * de la misma reserva devuelven instancias distintas, por lo que quien
+ * sincronice debe hacerlo por ID, como {@code ReservaService}.
+ *
+ * La memoria se libera explícitamente con {@link #close()}; después de
+ * cerrarlo cualquier operación lanza {@link IllegalStateException}.
+ */
+public class ReservaRepositoryFueraDeHeap implements ReservaRepository, AutoCloseable {
+
+    private static final int TAMANO_REGISTRO = 32;
+    private static final int ID = 0;
+    private static final int CANCHA = 8;
+    private static final int MINUTO = 12;
+    private static final int USUARIO = 16;
+    private static final int SIGUIENTE = 20;
+    private static final int ESTADO = 24;
+    private static final int EN_USO = 25;
+    private static final int SEGUNDO = 26;
+    private static final int NANO = 28;
+
+    // Enlaces por registro: siguiente y anterior en cada índice secundario
+    private static final int TAMANO_ENLACES = 24;
+    private static final int POR_USUARIO = 0;
+    private static final int POR_DIA = 8;
+    private static final int POR_ESTADO = 16;
+    private static final int ANTERIOR = 4;
+    private static final int MINUTOS_POR_DIA = 24 * 60;
+
+    private static final int NULO = -1;
+    private static final int MINUTO_NULO = Integer.MIN_VALUE;
+    private static final EstadoReserva[] ESTADOS = EstadoReserva.values();
+    private static final Object UNSAFE;
+    private static final Method INVOCAR_LIMPIADOR;
+
+    static {
+        Object unsafe = null;
+        Method invocarLimpiador = null;
+        try {
+            Class<?> clase = Class.forName("sun.misc.Unsafe");
+            Field campo = clase.getDeclaredField("theUnsafe");
+            campo.setAccessible(true);
+            unsafe = campo.get(null);
+            invocarLimpiador = clase.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Sin acceso al limpiador: la memoria la libera el recolector
+        }
+        UNSAFE = unsafe;
+        INVOCAR_LIMPIADOR = invocarLimpiador;
+    }
+
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+    private final TablaCanchas tablaCanchas = new TablaCanchas();
+    private final Map<String, Integer> idPorUsuario = new HashMap<>();
+    private final List<String> usuarios = new ArrayList<>();
+    private final TablaHashFueraDeHeap registroPorId;
+    private final TablaHashFueraDeHeap registroPorFranja;
+    private final TablaHashFueraDeHeap registroPorUsuario;
+    private final TablaHashFueraDeHeap registroPorDia;
+    private final TablaHashFueraDeHeap registroPorEstado;
+
+    private ByteBuffer registros;
+    private ByteBuffer enlaces;
+    private int capacidad;
+    // Registros usados alguna vez; los libres se reutilizan desde la lista de huecos
+    private int usados;
+    private int huecos = NULO;
+    private int tamano;
+    private long secuencia;
+    private boolean cerrado;
+
+    public ReservaRepositoryFueraDeHeap() {
+        this(1_024);
+    }
+
+    /**
+     * Crea el repositorio reservando memoria para una cantidad inicial de
+     * reservas; crece al doble cuando se llena
+     * @param capacidadInicial número de reservas para las que se reserva memoria
+     * @throws IllegalArgumentException si la capacidad no es positiva o excede
+     *         lo que cabe en un {@link ByteBuffer}
+     */
+    public ReservaRepositoryFueraDeHeap(int capacidadInicial) {
+        if (capacidadInicial <= 0) {
+            throw new IllegalArgumentException("La capacidad inicial debe ser positiva");
+        }
+        int bytesRegistros;
+        try {
+            bytesRegistros = Math.multiplyExact(capacidadInicial, TAMANO_REGISTRO);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("La capacidad inicial de " + capacidadInicial
+                + " reservas excede el máximo de " + Integer.MAX_VALUE / TAMANO_REGISTRO, e);
+        }
+        this.capacidad = capacidadInicial;
+        this.registros = ByteBuffer.allocateDirect(bytesRegistros);
+        this.enlaces = ByteBuffer.allocateDirect(capacidadInicial * TAMANO_ENLACES);
+        this.registroPorId = new TablaHashFueraDeHeap(capacidadInicial);
+        this.registroPorFranja = new TablaHashFueraDeHeap(capacidadInicial);
+        this.registroPorUsuario = new TablaHashFueraDeHeap(16);
+        this.registroPorDia = new TablaHashFueraDeHeap(16);
+        this.registroPorEstado = new TablaHashFueraDeHeap(16);
+    }
+
+    @Override
+    public Reserva save(Reserva reserva) {
+        candado.writeLock().lock();
+        try {
+            verificarAbierto();
+            int cancha = reserva.getCancha() == null ? NULO : tablaCanchas.internar(reserva.getCancha());
+            int minuto = reserva.getFechaHora() == null ? MINUTO_NULO : aMinuto(reserva.getFechaHora());
+            if (reserva.getId() == null) {
+                reserva.setId(++secuencia);
+            } else {
+                secuencia = Math.max(secuencia, reserva.getId());
+            }
+
+            int registro = registroPorId.obtener(reserva.getId());
+            if (registro == TablaHashFueraDeHeap.AUSENTE) {
+                registro = reservarRegistro();
+                registroPorId.poner(reserva.getId(), registro);
+                tamano++;
+            } else {
+                desenlazarDeFranja(registro);
+                desenlazarDeIndices(registro);
+            }
+            int base = registro * TAMANO_REGISTRO;
+            registros.putLong(base + ID, reserva.getId());
+            registros.putInt(base + CANCHA, cancha);
+            registros.putInt(base + MINUTO, minuto);
+            if (reserva.getFechaHora() != null) {
+                registros.put(base + SEGUNDO, (byte) reserva.getFechaHora().getSecond());
+                registros.putInt(base + NANO, reserva.getFechaHora().getNano());
+            }
+            registros.putInt(base + USUARIO, idUsuario(reserva.getNombreUsuario()));
+            registros.put(base + ESTADO, (byte) (reserva.getEstado() == null ? NULO : reserva.getEstado().ordinal()));
+            registros.put(base + EN_USO, (byte) 1);
+            enlazarEnFranja(registro, cancha, minuto);
+            enlazarEnIndices(registro);
+            return reserva;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        candado.writeLock().lock();
+        try {
+            verificarAbierto();
+            int registro = registroPorId.obtener(id);
+            if (registro == TablaHashFueraDeHeap.AUSENTE) {
+                return;
+            }
+            desenlazarDeFranja(registro);
+            desenlazarDeIndices(registro);
+            registroPorId.eliminar(id);
+            int base = registro * TAMANO_REGISTRO;
+            registros.put(base + EN_USO, (byte) 0);
+            registros.putInt(base + SIGUIENTE, huecos);
+            huecos = registro;
+            tamano--;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Reserva> findById(Long id) {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            int registro = registroPorId.obtener(id);
+            return registro == TablaHashFueraDeHeap.AUSENTE ? Optional.empty() : Optional.of(leer(registro));
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> findByCanchaAndFechaHora(Cancha cancha, LocalDateTime fechaHora) {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            int idCancha = tablaCanchas.buscar(cancha);
+            long minuto = minutoEpoch(fechaHora);
+            if (idCancha == NULO || minuto <= MINUTO_NULO || minuto > Integer.MAX_VALUE) {
+                return Collections.emptyList();
+            }
+            // AUSENTE y NULO coinciden, así que una franja sin reservas es una cadena vacía
+            int registro = registroPorFranja.obtener(claveFranja(idCancha, (int) minuto));
+            List<Reserva> resultado = new ArrayList<>(2);
+            for (; registro != NULO; registro = registros.getInt(registro * TAMANO_REGISTRO + SIGUIENTE)) {
+                int base = registro * TAMANO_REGISTRO;
+                if (registros.get(base + SEGUNDO) == fechaHora.getSecond()
+                        && registros.getInt(base + NANO) == fechaHora.getNano()) {
+                    resultado.add(leer(registro));
+                }
+            }
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> findByFecha(LocalDate fecha) {
+        return findByRango(fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Recorre las listas de los días del rango comparando solo el minuto, sin
+     * materializar los registros que quedan fuera; solo en los minutos de los
+     * extremos se compara la fecha/hora exacta.
+     */
+    @Override
+    public List<Reserva> findByRango(LocalDateTime desde, LocalDateTime hasta) {
+        if (!desde.isBefore(hasta)) {
+            return Collections.emptyList();
+        }
+        long primero = minutoEpoch(desde);
+        long ultimo = minutoEpoch(hasta);
+        long primerDia = Math.floorDiv(primero, MINUTOS_POR_DIA);
+        long ultimoDia = Math.floorDiv(ultimo, MINUTOS_POR_DIA);
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            List<Reserva> resultado = new ArrayList<>();
+            if (ultimoDia - primerDia >= usados) {
+                for (int registro = 0; registro < usados; registro++) {
+                    if (registros.get(registro * TAMANO_REGISTRO + EN_USO) != 0) {
+                        agregarSiEstaEnRango(resultado, registro, desde, hasta, primero, ultimo);
+                    }
+                }
+            } else {
+                for (long dia = primerDia; dia <= ultimoDia; dia++) {
+                    for (int registro = registroPorDia.obtener(dia); registro != NULO;
+                            registro = enlaces.getInt(registro * TAMANO_ENLACES + POR_DIA)) {
+                        agregarSiEstaEnRango(resultado, registro, desde, hasta, primero, ultimo);
+                    }
+                }
+            }
+            resultado.sort(Comparator.comparing(Reserva::getFechaHora).thenComparing(Reserva::getId));
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    private void agregarSiEstaEnRango(List<Reserva> resultado, int registro, LocalDateTime desde,
+                                      LocalDateTime hasta, long primero, long ultimo) {
+        int minuto = registros.getInt(registro * TAMANO_REGISTRO + MINUTO);
+        if (minuto == MINUTO_NULO || minuto < primero || minuto > ultimo) {
+            return;
+        }
+        Reserva reserva = leer(registro);
+        if ((minuto > primero || !reserva.getFechaHora().isBefore(desde))
+                && (minuto < ultimo || reserva.getFechaHora().isBefore(hasta))) {
+            resultado.add(reserva);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Recorre solo la lista del estado; el resultado se ordena por ID.
+     */
+    @Override
+    public List<Reserva> findByEstado(EstadoReserva estado) {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            return leerLista(registroPorEstado, estado == null ? NULO : estado.ordinal(), POR_ESTADO);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Recorre solo la lista del usuario; el resultado se ordena por ID.
+     */
+    @Override
+    public List<Reserva> findByNombreUsuario(String nombreUsuario) {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            Integer usuario = idPorUsuario.get(nombreUsuario);
+            if (usuario == null) {
+                return Collections.emptyList();
+            }
+            return leerLista(registroPorUsuario, usuario, POR_USUARIO);
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Reserva> findAll() {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            List<Reserva> resultado = new ArrayList<>(tamano);
+            for (int registro = 0; registro < usados; registro++) {
+                if (registros.get(registro * TAMANO_REGISTRO + EN_USO) != 0) {
+                    resultado.add(leer(registro));
+                }
+            }
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la memoria reservada fuera del heap (registros e índices)
+     * @return bytes reservados
+     */
+    public long getBytesFueraDeHeap() {
+        candado.readLock().lock();
+        try {
+            verificarAbierto();
+            return (long) capacidad * (TAMANO_REGISTRO + TAMANO_ENLACES)
+                + registroPorId.bytesReservados() + registroPorFranja.bytesReservados()
+                + registroPorUsuario.bytesReservados() + registroPorDia.bytesReservados()
+                + registroPorEstado.bytesReservados();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Libera la memoria fuera del heap. Es idempotente.
+     */
+    @Override
+    public void close() {
+        candado.writeLock().lock();
+        try {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+            liberar(registros);
+            liberar(enlaces);
+            liberar(registroPorId.soltar());
+            liberar(registroPorFranja.soltar());
+            liberar(registroPorUsuario.soltar());
+            liberar(registroPorDia.soltar());
+            liberar(registroPorEstado.soltar());
+            registros = null;
+            enlaces = null;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El repositorio fuera del heap está cerrado");
+        }
+    }
+
+    private Reserva leer(int registro) {
+        int base = registro * TAMANO_REGISTRO;
+        Reserva reserva = new Reserva();
+        reserva.setId(registros.getLong(base + ID));
+        int cancha = registros.getInt(base + CANCHA);
+        reserva.setCancha(cancha == NULO ? null : tablaCanchas.obtener(cancha));
+        int minuto = registros.getInt(base + MINUTO);
+        if (minuto != MINUTO_NULO) {
+            reserva.setFechaHora(LocalDateTime.ofEpochSecond(minuto * 60L + registros.get(base + SEGUNDO),
+                registros.getInt(base + NANO), ZoneOffset.UTC));
+        }
+        int usuario = registros.getInt(base + USUARIO);
+        reserva.setNombreUsuario(usuario == NULO ? null : usuarios.get(usuario));
+        byte estado = registros.get(base + ESTADO);
+        reserva.setEstado(estado == NULO ? null : ESTADOS[estado]);
+        return reserva;
+    }
+
+    private int reservarRegistro() {
+        if (huecos != NULO) {
+            int registro = huecos;
+            huecos = registros.getInt(registro * TAMANO_REGISTRO + SIGUIENTE);
+            return registro;
+        }
+        if (usados == capacidad) {
+            int nuevaCapacidad = Math.multiplyExact(capacidad, 2);
+            ByteBuffer nuevos = ByteBuffer.allocateDirect(Math.multiplyExact(nuevaCapacidad, TAMANO_REGISTRO));
+            nuevos.put(0, registros, 0, usados * TAMANO_REGISTRO);
+            ByteBuffer nuevosEnlaces = ByteBuffer.allocateDirect(Math.multiplyExact(nuevaCapacidad, TAMANO_ENLACES));
+            nuevosEnlaces.put(0, enlaces, 0, usados * TAMANO_ENLACES);
+            liberar(registros);
+            liberar(enlaces);
+            registros = nuevos;
+            enlaces = nuevosEnlaces;
+            capacidad = nuevaCapacidad;
+        }
+        return usados++;
+    }
+
+    private void enlazarEnFranja(int registro, int cancha, int minuto) {
+        int base = registro * TAMANO_REGISTRO;
+        if (cancha == NULO || minuto == MINUTO_NULO) {
+            registros.putInt(base + SIGUIENTE, NULO);
+            return;
+        }
+        long clave = claveFranja(cancha, minuto);
+        int primero = registroPorFranja.obtener(clave);
+        registros.putInt(base + SIGUIENTE, primero);
+        registroPorFranja.poner(clave, registro);
+    }
+
+    private void desenlazarDeFranja(int registro) {
+        int base = registro * TAMANO_REGISTRO;
+        int cancha = registros.getInt(base + CANCHA);
+        int minuto = registros.getInt(base + MINUTO);
+        if (cancha == NULO || minuto == MINUTO_NULO) {
+            return;
+        }
+        long clave = claveFranja(cancha, minuto);
+        int siguiente = registros.getInt(base + SIGUIENTE);
+        int actual = registroPorFranja.obtener(clave);
+        if (actual == registro) {
+            if (siguiente == NULO) {
+                registroPorFranja.eliminar(clave);
+            } else {
+                registroPorFranja.poner(clave, siguiente);
+            }
+            return;
+        }
+        // Las cadenas son cortas: una reserva activa y las canceladas de la franja
+        while (actual != NULO) {
+            int siguienteDelActual = registros.getInt(actual * TAMANO_REGISTRO + SIGUIENTE);
+            if (siguienteDelActual == registro) {
+                registros.putInt(actual * TAMANO_REGISTRO + SIGUIENTE, siguiente);
+                return;
+            }
+            actual = siguienteDelActual;
+        }
+    }
+
+    private void enlazarEnIndices(int registro) {
+        int base = registro * TAMANO_REGISTRO;
+        int usuario = registros.getInt(base + USUARIO);
+        if (usuario != NULO) {
+            enlazar(registroPorUsuario, usuario, registro, POR_USUARIO);
+        }
+        int minuto = registros.getInt(base + MINUTO);
+        if (minuto != MINUTO_NULO) {
+            enlazar(registroPorDia, Math.floorDiv(minuto, MINUTOS_POR_DIA), registro, POR_DIA);
+        }
+        enlazar(registroPorEstado, registros.get(base + ESTADO), registro, POR_ESTADO);
+    }
+
+    private void desenlazarDeIndices(int registro) {
+        int base = registro * TAMANO_REGISTRO;
+        int usuario = registros.getInt(base + USUARIO);
+        if (usuario != NULO) {
+            desenlazar(registroPorUsuario, usuario, registro, POR_USUARIO);
+        }
+        int minuto = registros.getInt(base + MINUTO);
+        if (minuto != MINUTO_NULO) {
+            desenlazar(registroPorDia, Math.floorDiv(minuto, MINUTOS_POR_DIA), registro, POR_DIA);
+        }
+        desenlazar(registroPorEstado, registros.get(base + ESTADO), registro, POR_ESTADO);
+    }
+
+    /**
+     * Inserta el registro al comienzo de la lista de la clave
+     */
+    private void enlazar(TablaHashFueraDeHeap indice, long clave, int registro, int lista) {
+        int primero = indice.obtener(clave);
+        int base = registro * TAMANO_ENLACES + lista;
+        enlaces.putInt(base, primero);
+        enlaces.putInt(base + ANTERIOR, NULO);
+        if (primero != NULO) {
+            enlaces.putInt(primero * TAMANO_ENLACES + lista + ANTERIOR, registro);
+        }
+        indice.poner(clave, registro);
+    }
+
+    private void desenlazar(TablaHashFueraDeHeap indice, long clave, int registro, int lista) {
+        int base = registro * TAMANO_ENLACES + lista;
+        int siguiente = enlaces.getInt(base);
+        int anterior = enlaces.getInt(base + ANTERIOR);
+        if (anterior == NULO) {
+            if (siguiente == NULO) {
+                indice.eliminar(clave);
+            } else {
+                indice.poner(clave, siguiente);
+            }
+        } else {
+            enlaces.putInt(anterior * TAMANO_ENLACES + lista, siguiente);
+        }
+        if (siguiente != NULO) {
+            enlaces.putInt(siguiente * TAMANO_ENLACES + lista + ANTERIOR, anterior);
+        }
+    }
+
+    private List<Reserva> leerLista(TablaHashFueraDeHeap indice, long clave, int lista) {
+        List<Reserva> resultado = new ArrayList<>();
+        for (int registro = indice.obtener(clave); registro != NULO;
+                registro = enlaces.getInt(registro * TAMANO_ENLACES + lista)) {
+            resultado.add(leer(registro));
+        }
+        resultado.sort(Comparator.comparing(Reserva::getId));
+        return resultado;
+    }
+
+    private int idUsuario(String nombreUsuario) {
+        if (nombreUsuario == null) {
+            return NULO;
+        }
+        Integer id = idPorUsuario.get(nombreUsuario);
+        if (id == null) {
+            id = usuarios.size();
+            usuarios.add(nombreUsuario);
+            idPorUsuario.put(nombreUsuario, id);
+        }
+        return id;
+    }
+
+    private static int aMinuto(LocalDateTime fechaHora) {
+        long minuto = minutoEpoch(fechaHora);
+        if (minuto <= MINUTO_NULO || minuto > Integer.MAX_VALUE) {
+            throw new CodificacionException("Fecha/hora fuera del rango almacenable: " + fechaHora);
+        }
+        return (int) minuto;
+    }
+
+    private static long minutoEpoch(LocalDateTime fechaHora) {
+        return Math.floorDiv(fechaHora.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static long claveFranja(int cancha, int minuto) {
+        return ((long) cancha << 32) | (minuto & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Libera de inmediato la memoria de un buffer directo, sin esperar al
+     * recolector. Si la JVM no lo permite, la memoria se libera cuando el
+     * buffer deja de ser alcanzable.
+     */
+    static void liberar(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || INVOCAR_LIMPIADOR == null) {
+            return;
+        }
+        try {
+            INVOCAR_LIMPIADOR.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Sin acceso al limpiador: queda a cargo del recolector
+        }
+    }
+}
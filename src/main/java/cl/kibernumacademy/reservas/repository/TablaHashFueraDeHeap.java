@@ -0,0 +1,132 @@
+package cl.kibernumacademy.reservas.repository;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tabla hash {@code long -> int} almacenada en un {@link ByteBuffer} directo.
+ *
+ * Direccionamiento abierto con sondeo lineal y borrado por desplazamiento
+ * hacia atrás (sin lápidas). Cada entrada ocupa 12 bytes: la clave y el valor
+ * más uno, de modo que un valor 0 marca una entrada libre y la memoria recién
+ * reservada, que llega en ceros, no necesita inicializarse. Los valores deben
+ * ser no negativos. No es segura para hilos: la sincroniza quien la usa.
+ */
+class TablaHashFueraDeHeap {
+
+    static final int AUSENTE = -1;
+
+    private static final int TAMANO_ENTRADA = Long.BYTES + Integer.BYTES;
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    private ByteBuffer entradas;
+    private int capacidad;
+    private int tamano;
+
+    TablaHashFueraDeHeap(int capacidadInicial) {
+        this.capacidad = Integer.highestOneBit(Math.max(CAPACIDAD_MINIMA, capacidadInicial - 1) << 1);
+        this.entradas = ByteBuffer.allocateDirect(capacidad * TAMANO_ENTRADA);
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    long bytesReservados() {
+        return (long) capacidad * TAMANO_ENTRADA;
+    }
+
+    int obtener(long clave) {
+        int mascara = capacidad - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            int valor = entradas.getInt(i * TAMANO_ENTRADA + Long.BYTES);
+            if (valor == 0) {
+                return AUSENTE;
+            }
+            if (entradas.getLong(i * TAMANO_ENTRADA) == clave) {
+                return valor - 1;
+            }
+        }
+    }
+
+    void poner(long clave, int valor) {
+        if ((tamano + 1) * 4L > capacidad * 3L) {
+            redimensionar(capacidad * 2);
+        }
+        if (insertar(entradas, capacidad, clave, valor)) {
+            tamano++;
+        }
+    }
+
+    void eliminar(long clave) {
+        int mascara = capacidad - 1;
+        int i = indice(clave, mascara);
+        while (true) {
+            if (entradas.getInt(i * TAMANO_ENTRADA + Long.BYTES) == 0) {
+                return;
+            }
+            if (entradas.getLong(i * TAMANO_ENTRADA) == clave) {
+                break;
+            }
+            i = (i + 1) & mascara;
+        }
+        tamano--;
+        // Desplaza hacia el hueco las entradas siguientes que lo necesiten para
+        // seguir siendo alcanzables desde su posición ideal
+        int hueco = i;
+        for (int j = (hueco + 1) & mascara; ; j = (j + 1) & mascara) {
+            int valor = entradas.getInt(j * TAMANO_ENTRADA + Long.BYTES);
+            if (valor == 0) {
+                break;
+            }
+            long otra = entradas.getLong(j * TAMANO_ENTRADA);
+            int ideal = indice(otra, mascara);
+            if (((j - ideal) & mascara) >= ((j - hueco) & mascara)) {
+                entradas.putLong(hueco * TAMANO_ENTRADA, otra);
+                entradas.putInt(hueco * TAMANO_ENTRADA + Long.BYTES, valor);
+                hueco = j;
+            }
+        }
+        entradas.putLong(hueco * TAMANO_ENTRADA, 0);
+        entradas.putInt(hueco * TAMANO_ENTRADA + Long.BYTES, 0);
+    }
+
+    /**
+     * Entrega la memoria de la tabla; después de llamarlo la tabla no se puede usar
+     * @return el buffer que se debe liberar
+     */
+    ByteBuffer soltar() {
+        ByteBuffer soltado = entradas;
+        entradas = null;
+        return soltado;
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
+        ByteBuffer nuevas = ByteBuffer.allocateDirect(nuevaCapacidad * TAMANO_ENTRADA);
+        for (int i = 0; i < capacidad; i++) {
+            int valor = entradas.getInt(i * TAMANO_ENTRADA + Long.BYTES);
+            if (valor != 0) {
+                insertar(nuevas, nuevaCapacidad, entradas.getLong(i * TAMANO_ENTRADA), valor - 1);
+            }
+        }
+        ReservaRepositoryFueraDeHeap.liberar(entradas);
+        entradas = nuevas;
+        capacidad = nuevaCapacidad;
+    }
+
+    private static boolean insertar(ByteBuffer destino, int capacidad, long clave, int valor) {
+        int mascara = capacidad - 1;
+        for (int i = indice(clave, mascara); ; i = (i + 1) & mascara) {
+            int actual = destino.getInt(i * TAMANO_ENTRADA + Long.BYTES);
+            if (actual == 0 || destino.getLong(i * TAMANO_ENTRADA) == clave) {
+                destino.putLong(i * TAMANO_ENTRADA, clave);
+                destino.putInt(i * TAMANO_ENTRADA + Long.BYTES, valor + 1);
+                return actual == 0;
+            }
+        }
+    }
+
+    private static int indice(long clave, int mascara) {
+        long mezcla = clave * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+    }
+}
@@ -4,16 +4,32 @@ import cl.kibernumacademy.reservas.model.Cancha;
 import cl.kibernumacademy.reservas.model.TipoDeporte;
 import cl.kibernumacademy.reservas.repository.CanchaRepository;
 //import cl.kibernumacademy.reservas.exception.ReservaException;
+import java.time.Duration;
 import java.time.LocalTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 public class CanchaService {
     
     private final CanchaRepository canchaRepository;
+    // Coalescencia de consultas por tipo de deporte; null si está deshabilitada
+    private final ConsultasCoalescidas<TipoDeporte, List<Cancha>> porTipoDeporte;
     
     public CanchaService(CanchaRepository canchaRepository) {
+        this(canchaRepository, null);
+    }
+    
+    /**
+     * @param canchaRepository repositorio de canchas
+     * @param ttlConsultas si no es null, las consultas idénticas de
+     *        {@link #obtenerPorTipoDeporte} en curso se coalescen y su resultado
+     *        se conserva este tiempo (cero para solo coalescer); registrar una
+     *        cancha invalida su tipo de deporte
+     */
+    public CanchaService(CanchaRepository canchaRepository, Duration ttlConsultas) {
         this.canchaRepository = canchaRepository;
+        this.porTipoDeporte = ttlConsultas == null ? null : new ConsultasCoalescidas<>(ttlConsultas);
     }
     
     /**
@@ -26,7 +42,21 @@ public class CanchaService {
     public Cancha registrarCancha(String nombre, TipoDeporte tipoDeporte, List<LocalTime> horariosDisponibles) {
         // TODO: Implementar validaciones y lógica de negocio
         Cancha cancha = new Cancha(nombre, tipoDeporte, horariosDisponibles);
-        return canchaRepository.save(cancha);
+        if (porTipoDeporte == null) {
+            return canchaRepository.save(cancha);
+        }
+        // Si reemplaza a una cancha de otro deporte, ambos listados cambian
+        Optional<Cancha> anterior = canchaRepository.findByNombre(nombre);
+        Cancha guardada = canchaRepository.save(cancha);
+        invalidar(tipoDeporte);
+        anterior.ifPresent(a -> invalidar(a.getTipoDeporte()));
+        return guardada;
+    }
+    
+    private void invalidar(TipoDeporte tipoDeporte) {
+        if (tipoDeporte != null) {
+            porTipoDeporte.invalidar(tipoDeporte);
+        }
     }
     
     /**
@@ -44,7 +74,12 @@ public class CanchaService {
      * @return lista de canchas
      */
     public List<Cancha> obtenerPorTipoDeporte(TipoDeporte tipoDeporte) {
-        return canchaRepository.findByTipoDeporte(tipoDeporte);
+        if (porTipoDeporte == null || tipoDeporte == null) {
+            return canchaRepository.findByTipoDeporte(tipoDeporte);
+        }
+        // La lista se comparte entre quienes esperaban el mismo cálculo
+        return porTipoDeporte.obtener(tipoDeporte,
+            () -> Collections.unmodifiableList(canchaRepository.findByTipoDeporte(tipoDeporte)));
     }
     
     /**
@@ -0,0 +1,141 @@
+package cl.kibernumacademy.reservas.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de consultas idénticas con una caché de vida muy corta.
+ *
+ * Si varias solicitudes piden la misma clave mientras su cálculo está en
+ * curso, solo la primera lo ejecuta y las demás esperan su resultado. El
+ * resultado se conserva además durante el TTL configurado (que puede ser
+ * cero para coalescer sin cachear), salvo que antes se invalide la clave.
+ *
+ * Invalidar elimina también un cálculo en curso: quienes ya lo esperaban
+ * reciben su resultado, pero las consultas posteriores a la invalidación
+ * calculan de nuevo, por lo que nunca ven un valor anterior a la escritura
+ * que invalidó.
+ *
+ * Las entradas vencidas se purgan cuando hay más de {@link #UMBRAL_PURGA}
+ * y pasó al menos {@link #INTERVALO_PURGA_NANOS} desde la purga anterior;
+ * la consulta que encuentra vencido el intervalo hace la purga, de modo que
+ * el recorrido completo del mapa no se repite en cada consulta.
+ */
+class ConsultasCoalescidas<K, V> {
+
+    static final int UMBRAL_PURGA = 1_024;
+    static final long INTERVALO_PURGA_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ConcurrentHashMap<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+    private final LongAdder calculos = new LongAdder();
+    private final long ttlNanos;
+    private final LongSupplier reloj;
+    private final AtomicLong ultimaPurga;
+
+    ConsultasCoalescidas(Duration ttl) {
+        this(ttl, System::nanoTime);
+    }
+
+    ConsultasCoalescidas(Duration ttl, LongSupplier reloj) {
+        if (ttl.isNegative()) {
+            throw new IllegalArgumentException("El TTL no puede ser negativo");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.reloj = reloj;
+        this.ultimaPurga = new AtomicLong(reloj.getAsLong());
+    }
+
+    /**
+     * Obtiene el valor de la clave, calculándolo solo si no hay un cálculo en
+     * curso ni un resultado vigente
+     * @param clave la clave de la consulta
+     * @param calculo cálculo a ejecutar si hace falta
+     * @return el valor
+     */
+    V obtener(K clave, Supplier<V> calculo) {
+        long ahora = reloj.getAsLong();
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada != null && !entrada.expirada(ahora)) {
+            return entrada.esperar();
+        }
+        Entrada<V> propia = new Entrada<>();
+        entrada = entradas.compute(clave, (k, actual) -> actual == null || actual.expirada(ahora) ? propia : actual);
+        if (entrada != propia) {
+            return entrada.esperar();
+        }
+
+        calculos.increment();
+        V valor;
+        try {
+            valor = calculo.get();
+        } catch (RuntimeException | Error e) {
+            entradas.remove(clave, propia);
+            propia.futuro.completeExceptionally(e);
+            throw e;
+        }
+        propia.expira = reloj.getAsLong() + ttlNanos;
+        propia.futuro.complete(valor);
+        purgarSiCorresponde(ahora);
+        return valor;
+    }
+
+    private void purgarSiCorresponde(long ahora) {
+        if (entradas.size() <= UMBRAL_PURGA) {
+            return;
+        }
+        long ultima = ultimaPurga.get();
+        if (ahora - ultima >= INTERVALO_PURGA_NANOS && ultimaPurga.compareAndSet(ultima, ahora)) {
+            entradas.values().removeIf(e -> e.expirada(ahora));
+        }
+    }
+
+    /**
+     * Descarta el resultado (o cálculo en curso) de una clave
+     * @param clave la clave modificada
+     */
+    void invalidar(K clave) {
+        entradas.remove(clave);
+    }
+
+    /**
+     * Número de cálculos ejecutados; el resto de las consultas se resolvieron
+     * esperando un cálculo en curso o desde la caché
+     */
+    long getCalculos() {
+        return calculos.sum();
+    }
+
+    int entradasRetenidas() {
+        return entradas.size();
+    }
+
+    private static final class Entrada<V> {
+        private final CompletableFuture<V> futuro = new CompletableFuture<>();
+        private volatile long expira;
+
+        private boolean expirada(long ahora) {
+            return futuro.isDone() && ahora - expira >= 0;
+        }
+
+        private V esperar() {
+            try {
+                return futuro.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
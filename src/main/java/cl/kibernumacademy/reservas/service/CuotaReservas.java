@@ -0,0 +1,203 @@
+package cl.kibernumacademy.reservas.service;
+
+import cl.kibernumacademy.reservas.exception.CuotaExcedidaException;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Regla de equidad: máximo de reservas activas por usuario por semana
+ * (lunes a domingo, según la fecha de la reserva).
+ *
+ * Cada par usuario/semana tiene un contador que se actualiza de forma atómica
+ * con {@link ConcurrentHashMap#compute}, por lo que verificar y consumir la
+ * cuota es O(1) y no hay carreras entre reservas concurrentes del mismo
+ * usuario. Los contadores que vuelven a cero se eliminan, y los de semanas
+ * ya terminadas se purgan la primera vez que se consume cuota en una semana
+ * nueva.
+ *
+ * Los contadores de cada usuario se inicializan con sus reservas activas la
+ * primera vez que se opera sobre él ({@link #cargarUsuario}), de modo que la
+ * cuota se respeta también con un repositorio con datos previos.
+ */
+public class CuotaReservas {
+
+    private static final CuotaReservas SIN_LIMITE = new CuotaReservas(Integer.MAX_VALUE);
+
+    private final int maximoPorSemana;
+    private final Map<ClaveSemana, Integer> contadores = new ConcurrentHashMap<>();
+    // Usuarios cuyos contadores ya reflejan las reservas del repositorio
+    private final Map<String, Boolean> usuariosCargados = new ConcurrentHashMap<>();
+    private final Clock reloj;
+    private final AtomicLong semanaPurgada;
+
+    public CuotaReservas(int maximoPorSemana) {
+        this(maximoPorSemana, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param maximoPorSemana máximo de reservas activas por usuario por semana
+     * @param reloj reloj con el que se determina la semana en curso
+     */
+    public CuotaReservas(int maximoPorSemana, Clock reloj) {
+        if (maximoPorSemana <= 0) {
+            throw new IllegalArgumentException("El máximo de reservas por semana debe ser positivo");
+        }
+        this.maximoPorSemana = maximoPorSemana;
+        this.reloj = reloj;
+        this.semanaPurgada = new AtomicLong(lunes(LocalDate.now(reloj)));
+    }
+
+    /**
+     * Cuota que nunca rechaza y no mantiene contadores
+     * @return la cuota sin límite compartida
+     */
+    public static CuotaReservas sinLimite() {
+        return SIN_LIMITE;
+    }
+
+    /**
+     * Inicializa los contadores con las reservas activas ya existentes. Los
+     * usuarios incluidos se dan por cargados.
+     * @param reservas reservas existentes (se ignoran las no activas)
+     */
+    public void registrarExistentes(Collection<Reserva> reservas) {
+        if (esIlimitada()) {
+            return;
+        }
+        for (Reserva reserva : reservas) {
+            registrar(reserva);
+            if (reserva.getNombreUsuario() != null) {
+                usuariosCargados.put(reserva.getNombreUsuario(), Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Inicializa los contadores del usuario con sus reservas existentes la
+     * primera vez que se le llama para ese usuario. Debe llamarse antes de
+     * modificar cualquier reserva del usuario para que la carga no cuente
+     * cambios que la cuota también registra. Las llamadas concurrentes para
+     * el mismo usuario esperan a que termine la carga.
+     * @param nombreUsuario nombre del usuario
+     * @param origen reservas del usuario, p. ej. {@code findByNombreUsuario}
+     */
+    public void cargarUsuario(String nombreUsuario, Function<String, ? extends Collection<Reserva>> origen) {
+        if (esIlimitada() || nombreUsuario == null || usuariosCargados.containsKey(nombreUsuario)) {
+            return;
+        }
+        usuariosCargados.computeIfAbsent(nombreUsuario, usuario -> {
+            for (Reserva reserva : origen.apply(usuario)) {
+                registrar(reserva);
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private void registrar(Reserva reserva) {
+        if (reserva.getEstado() == EstadoReserva.ACTIVA && reserva.getFechaHora() != null) {
+            contadores.merge(clave(reserva.getNombreUsuario(), reserva.getFechaHora()), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Consume una unidad de cuota para la semana de la fecha indicada
+     * @param nombreUsuario nombre del usuario
+     * @param fechaHora fecha y hora de la reserva
+     * @throws CuotaExcedidaException si el usuario ya alcanzó el máximo semanal
+     */
+    public void adquirir(String nombreUsuario, LocalDateTime fechaHora) {
+        if (esIlimitada()) {
+            return;
+        }
+        purgarSemanasPasadas();
+        contadores.compute(clave(nombreUsuario, fechaHora), (clave, actual) -> {
+            int usadas = actual == null ? 0 : actual;
+            if (usadas >= maximoPorSemana) {
+                throw new CuotaExcedidaException("El usuario " + nombreUsuario
+                    + " alcanzó el máximo de " + maximoPorSemana + " reservas activas por semana");
+            }
+            return usadas + 1;
+        });
+    }
+
+    /**
+     * Devuelve una unidad de cuota (cancelación o reserva fallida)
+     * @param nombreUsuario nombre del usuario
+     * @param fechaHora fecha y hora de la reserva liberada
+     */
+    public void liberar(String nombreUsuario, LocalDateTime fechaHora) {
+        if (esIlimitada()) {
+            return;
+        }
+        contadores.computeIfPresent(clave(nombreUsuario, fechaHora),
+            (clave, actual) -> actual <= 1 ? null : actual - 1);
+    }
+
+    /**
+     * Mueve una unidad de cuota de una fecha a otra. Si ambas fechas caen en
+     * la misma semana no se modifica el contador.
+     * @param nombreUsuario nombre del usuario
+     * @param anterior fecha y hora original de la reserva
+     * @param nueva nueva fecha y hora
+     * @throws CuotaExcedidaException si la semana de destino ya está completa
+     */
+    public void trasladar(String nombreUsuario, LocalDateTime anterior, LocalDateTime nueva) {
+        if (esIlimitada() || clave(nombreUsuario, anterior).equals(clave(nombreUsuario, nueva))) {
+            return;
+        }
+        adquirir(nombreUsuario, nueva);
+        liberar(nombreUsuario, anterior);
+    }
+
+    /**
+     * Obtiene las reservas activas contabilizadas en la semana de una fecha
+     * @param nombreUsuario nombre del usuario
+     * @param fechaHora cualquier fecha de la semana consultada
+     * @return número de reservas activas en esa semana
+     */
+    public int reservasEnSemana(String nombreUsuario, LocalDateTime fechaHora) {
+        return contadores.getOrDefault(clave(nombreUsuario, fechaHora), 0);
+    }
+
+    public int getMaximoPorSemana() {
+        return maximoPorSemana;
+    }
+
+    // Una vez por semana se descartan los contadores de semanas terminadas
+    private void purgarSemanasPasadas() {
+        long actual = lunes(LocalDate.now(reloj));
+        long purgada = semanaPurgada.get();
+        if (actual > purgada && semanaPurgada.compareAndSet(purgada, actual)) {
+            contadores.keySet().removeIf(clave -> clave.lunesEpochDay() < actual);
+        }
+    }
+
+    int semanasRastreadas() {
+        return contadores.size();
+    }
+
+    private boolean esIlimitada() {
+        return maximoPorSemana == Integer.MAX_VALUE;
+    }
+
+    private static ClaveSemana clave(String nombreUsuario, LocalDateTime fechaHora) {
+        return new ClaveSemana(nombreUsuario, lunes(fechaHora.toLocalDate()));
+    }
+
+    private static long lunes(LocalDate fecha) {
+        return fecha.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay();
+    }
+
+    private record ClaveSemana(String nombreUsuario, long lunesEpochDay) {
+    }
+}
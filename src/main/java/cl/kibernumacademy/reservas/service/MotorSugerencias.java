@@ -0,0 +1,105 @@
+package cl.kibernumacademy.reservas.service;
+
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.repository.CanchaRepository;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Calcula alternativas cuando una cancha no está disponible: la misma cancha
+ * en los horarios libres más cercanos del mismo día y otras canchas del mismo
+ * tipo de deporte a la misma hora.
+ *
+ * Solo consulta las franjas candidatas, cada una con
+ * {@link ReservaRepository#findByCanchaAndFechaHora}, que los repositorios
+ * resuelven por índice: sugerir cuesta unas pocas búsquedas puntuales y no
+ * depende de cuántas reservas haya en el día ni en el historial. Los horarios
+ * que ya pasaron según el reloj no se sugieren.
+ */
+public class MotorSugerencias {
+
+    private static final Comparator<AlternativaReserva> RANKING =
+        Comparator.comparingLong(AlternativaReserva::getMinutosDeDiferencia)
+            .thenComparing(a -> !a.isMismaCancha())
+            .thenComparing(AlternativaReserva::getFechaHora)
+            .thenComparing(a -> a.getCancha().getNombre());
+
+    private final ReservaRepository reservaRepository;
+    private final CanchaRepository canchaRepository;
+    private final int maximoAlternativas;
+    private final Clock reloj;
+
+    public MotorSugerencias(ReservaRepository reservaRepository, CanchaRepository canchaRepository,
+                            int maximoAlternativas) {
+        this(reservaRepository, canchaRepository, maximoAlternativas, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param reservaRepository repositorio donde se consultan las franjas ocupadas
+     * @param canchaRepository catálogo de canchas alternativas
+     * @param maximoAlternativas máximo de alternativas por sugerencia
+     * @param reloj reloj con el que se descartan los horarios ya pasados
+     */
+    public MotorSugerencias(ReservaRepository reservaRepository, CanchaRepository canchaRepository,
+                            int maximoAlternativas, Clock reloj) {
+        if (maximoAlternativas <= 0) {
+            throw new IllegalArgumentException("El máximo de alternativas debe ser positivo");
+        }
+        this.reservaRepository = reservaRepository;
+        this.canchaRepository = canchaRepository;
+        this.maximoAlternativas = maximoAlternativas;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Sugiere alternativas libres para una solicitud rechazada, ordenadas por
+     * cercanía al horario pedido (a igual cercanía, primero la misma cancha)
+     * @param cancha la cancha solicitada
+     * @param fechaHora la fecha y hora solicitadas
+     * @return lista de alternativas, como máximo el límite configurado
+     */
+    public List<AlternativaReserva> sugerir(Cancha cancha, LocalDateTime fechaHora) {
+        LocalDateTime ahora = LocalDateTime.now(reloj);
+        LocalTime horaSolicitada = fechaHora.toLocalTime();
+        List<AlternativaReserva> alternativas = new ArrayList<>();
+
+        if (cancha.getHorariosDisponibles() != null) {
+            for (LocalTime horario : cancha.getHorariosDisponibles()) {
+                LocalDateTime candidata = fechaHora.with(horario);
+                if (!horario.equals(horaSolicitada) && !candidata.isBefore(ahora) && estaLibre(cancha, candidata)) {
+                    alternativas.add(new AlternativaReserva(cancha, candidata, fechaHora, true));
+                }
+            }
+        }
+
+        if (cancha.getTipoDeporte() != null && !fechaHora.isBefore(ahora)) {
+            for (Cancha otra : canchaRepository.findByTipoDeporte(cancha.getTipoDeporte())) {
+                if (Objects.equals(otra.getNombre(), cancha.getNombre())
+                        || otra.getHorariosDisponibles() == null
+                        || !otra.getHorariosDisponibles().contains(horaSolicitada)
+                        || !estaLibre(otra, fechaHora)) {
+                    continue;
+                }
+                alternativas.add(new AlternativaReserva(otra, fechaHora, fechaHora, false));
+            }
+        }
+
+        alternativas.sort(RANKING);
+        return alternativas.size() > maximoAlternativas
+            ? new ArrayList<>(alternativas.subList(0, maximoAlternativas))
+            : alternativas;
+    }
+
+    private boolean estaLibre(Cancha cancha, LocalDateTime fechaHora) {
+        return reservaRepository.findByCanchaAndFechaHora(cancha, fechaHora).stream()
+            .noneMatch(r -> r.getEstado() == EstadoReserva.ACTIVA);
+    }
+}
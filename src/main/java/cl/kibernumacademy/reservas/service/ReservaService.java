@@ -1,21 +1,73 @@
 package cl.kibernumacademy.reservas.service;
 
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
 import cl.kibernumacademy.reservas.model.Reserva;
 import cl.kibernumacademy.reservas.model.Cancha;
 import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
 import cl.kibernumacademy.reservas.repository.ReservaRepository;
 import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.exception.CuotaExcedidaException;
 import cl.kibernumacademy.reservas.exception.ReservaNoEncontradaException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 public class ReservaService {
     
+    // Candados por franja (cancha + fecha/hora) para que verificar disponibilidad
+    // y guardar sea atómico entre hilos que usan este servicio, y por ID de
+    // reserva para serializar modificar y cancelar. Son por ID y no por instancia
+    // porque hay repositorios que devuelven copias. Modificar toma antes el
+    // candado de la reserva y después el de la franja de destino; nadie los toma
+    // en el orden inverso, así que no hay interbloqueos
+    private static final int NUMERO_CANDADOS = 64;
+    
     private final ReservaRepository reservaRepository;
+    private final CuotaReservas cuotaReservas;
+    private final MotorSugerencias motorSugerencias;
+    // Coalescencia de consultas de disponibilidad; null si está deshabilitada
+    private final ConsultasCoalescidas<ClaveFranja, Boolean> disponibilidad;
+    private final Object[] candados = new Object[NUMERO_CANDADOS];
+    private final Object[] candadosReserva = new Object[NUMERO_CANDADOS];
     
     public ReservaService(ReservaRepository reservaRepository) {
+        this(reservaRepository, CuotaReservas.sinLimite());
+    }
+    
+    public ReservaService(ReservaRepository reservaRepository, CuotaReservas cuotaReservas) {
+        this(reservaRepository, cuotaReservas, null);
+    }
+    
+    public ReservaService(ReservaRepository reservaRepository, CuotaReservas cuotaReservas,
+                          MotorSugerencias motorSugerencias) {
+        this(reservaRepository, cuotaReservas, motorSugerencias, null);
+    }
+    
+    /**
+     * @param reservaRepository repositorio de reservas
+     * @param cuotaReservas cuota semanal por usuario; los contadores de cada
+     *        usuario se cargan del repositorio antes de su primer cambio
+     * @param motorSugerencias motor de alternativas, o null para no sugerir
+     * @param ttlDisponibilidad si no es null, las consultas idénticas de
+     *        {@link #esCanchaDisponible} en curso se coalescen y su resultado se
+     *        conserva este tiempo (cero para solo coalescer); las escrituras de
+     *        este servicio invalidan la franja afectada
+     */
+    public ReservaService(ReservaRepository reservaRepository, CuotaReservas cuotaReservas,
+                          MotorSugerencias motorSugerencias, Duration ttlDisponibilidad) {
         this.reservaRepository = reservaRepository;
+        this.cuotaReservas = cuotaReservas;
+        this.motorSugerencias = motorSugerencias;
+        this.disponibilidad = ttlDisponibilidad == null ? null : new ConsultasCoalescidas<>(ttlDisponibilidad);
+        for (int i = 0; i < NUMERO_CANDADOS; i++) {
+            candados[i] = new Object();
+            candadosReserva[i] = new Object();
+        }
     }
     
     /**
@@ -24,16 +76,26 @@ public class ReservaService {
      * @param fechaHora fecha y hora de la reserva
      * @param nombreUsuario nombre del usuario
      * @return la reserva creada
-     * @throws CanchaNoDisponibleException si la cancha no está disponible
+     * @throws CanchaNoDisponibleException si la cancha no está disponible; incluye
+     *         alternativas si el servicio tiene un {@link MotorSugerencias}
+     * @throws CuotaExcedidaException si el usuario superó su cuota semanal
      */
     public Reserva crearReserva(Cancha cancha, LocalDateTime fechaHora, String nombreUsuario) {
-        // TODO: Implementar validación de disponibilidad
-        if (!esCanchaDisponible(cancha, fechaHora)) {
-            throw new CanchaNoDisponibleException("La cancha no está disponible en el horario solicitado");
+        cargarCuota(nombreUsuario);
+        synchronized (candadoPara(cancha, fechaHora)) {
+            if (consultarDisponibilidad(cancha, fechaHora)) {
+                cuotaReservas.adquirir(nombreUsuario, fechaHora);
+                try {
+                    Reserva reserva = reservaRepository.save(new Reserva(cancha, fechaHora, nombreUsuario));
+                    invalidarDisponibilidad(cancha, fechaHora);
+                    return reserva;
+                } catch (RuntimeException e) {
+                    cuotaReservas.liberar(nombreUsuario, fechaHora);
+                    throw e;
+                }
+            }
         }
-        
-        Reserva reserva = new Reserva(cancha, fechaHora, nombreUsuario);
-        return reservaRepository.save(reserva);
+        throw canchaNoDisponible(cancha, fechaHora);
     }
     
     /**
@@ -42,14 +104,88 @@ public class ReservaService {
      * @param nuevaFechaHora nueva fecha y hora
      * @return la reserva modificada
      * @throws ReservaNoEncontradaException si no se encuentra la reserva
+     * @throws CanchaNoDisponibleException si otra reserva activa ocupa la nueva fecha/hora;
+     *         incluye alternativas si el servicio tiene un {@link MotorSugerencias}
+     * @throws CuotaExcedidaException si la semana de destino supera la cuota del usuario
      */
     public Reserva modificarReserva(Long id, LocalDateTime nuevaFechaHora) {
-        Reserva reserva = reservaRepository.findById(id)
+        Reserva reserva;
+        // El candado del ID serializa modificar y cancelar: la reserva se lee bajo
+        // él y la cuota se traslada o libera según el estado y la fecha vistos ahí
+        synchronized (candadoReserva(id)) {
+            reserva = buscarReserva(id);
+            cargarCuota(reserva.getNombreUsuario());
+            synchronized (candadoPara(reserva.getCancha(), nuevaFechaHora)) {
+                LocalDateTime fechaAnterior = reserva.getFechaHora();
+                boolean activa = reserva.getEstado() == EstadoReserva.ACTIVA;
+                if (!activa || !estaOcupadaPorOtra(reserva, nuevaFechaHora)) {
+                    if (activa) {
+                        cuotaReservas.trasladar(reserva.getNombreUsuario(), fechaAnterior, nuevaFechaHora);
+                    }
+                    try {
+                        reserva.setFechaHora(nuevaFechaHora);
+                        Reserva modificada = reservaRepository.save(reserva);
+                        invalidarDisponibilidad(reserva.getCancha(), fechaAnterior);
+                        invalidarDisponibilidad(reserva.getCancha(), nuevaFechaHora);
+                        return modificada;
+                    } catch (RuntimeException e) {
+                        reserva.setFechaHora(fechaAnterior);
+                        if (activa) {
+                            cuotaReservas.trasladar(reserva.getNombreUsuario(), nuevaFechaHora, fechaAnterior);
+                        }
+                        throw e;
+                    }
+                }
+            }
+        }
+        throw canchaNoDisponible(reserva.getCancha(), nuevaFechaHora);
+    }
+    
+    /**
+     * Sugiere alternativas libres para una cancha y horario
+     * @param cancha la cancha
+     * @param fechaHora la fecha y hora
+     * @return alternativas ordenadas, o lista vacía si no hay motor de sugerencias
+     */
+    public List<AlternativaReserva> sugerirAlternativas(Cancha cancha, LocalDateTime fechaHora) {
+        if (motorSugerencias == null) {
+            return Collections.emptyList();
+        }
+        return motorSugerencias.sugerir(cancha, fechaHora);
+    }
+    
+    /**
+     * Construye el rechazo con sus alternativas. Se llama después de liberar
+     * los candados, para que sugerir no alargue la espera en la franja más
+     * disputada.
+     */
+    private CanchaNoDisponibleException canchaNoDisponible(Cancha cancha, LocalDateTime fechaHora) {
+        return new CanchaNoDisponibleException("La cancha no está disponible en el horario solicitado",
+            sugerirAlternativas(cancha, fechaHora));
+    }
+    
+    private boolean estaOcupadaPorOtra(Reserva reserva, LocalDateTime fechaHora) {
+        return reservaRepository.findByCanchaAndFechaHora(reserva.getCancha(), fechaHora).stream()
+            .anyMatch(r -> r.getEstado() == EstadoReserva.ACTIVA && !Objects.equals(r.getId(), reserva.getId()));
+    }
+    
+    private Object candadoPara(Cancha cancha, LocalDateTime fechaHora) {
+        int hash = Objects.hash(cancha != null ? cancha.getNombre() : null, fechaHora);
+        return candados[Math.floorMod(hash, NUMERO_CANDADOS)];
+    }
+    
+    // La cuota se carga desde el repositorio antes del primer cambio del usuario
+    private void cargarCuota(String nombreUsuario) {
+        cuotaReservas.cargarUsuario(nombreUsuario, reservaRepository::findByNombreUsuario);
+    }
+    
+    private Object candadoReserva(Long id) {
+        return candadosReserva[Math.floorMod(Objects.hashCode(id), NUMERO_CANDADOS)];
+    }
+    
+    private Reserva buscarReserva(Long id) {
+        return reservaRepository.findById(id)
             .orElseThrow(() -> new ReservaNoEncontradaException("No se encontró la reserva con ID: " + id));
-        
-        // TODO: Implementar validación de disponibilidad para la nueva fecha
-        reserva.setFechaHora(nuevaFechaHora);
-        return reservaRepository.save(reserva);
     }
     
     /**
@@ -58,11 +194,23 @@ public class ReservaService {
      * @throws ReservaNoEncontradaException si no se encuentra la reserva
      */
     public void cancelarReserva(Long id) {
-        Reserva reserva = reservaRepository.findById(id)
-            .orElseThrow(() -> new ReservaNoEncontradaException("No se encontró la reserva con ID: " + id));
-        
-        reserva.cancelar();
-        reservaRepository.save(reserva);
+        Reserva reserva;
+        synchronized (candadoReserva(id)) {
+            reserva = buscarReserva(id);
+            cargarCuota(reserva.getNombreUsuario());
+            EstadoReserva estadoAnterior = reserva.getEstado();
+            reserva.cancelar();
+            try {
+                reservaRepository.save(reserva);
+            } catch (RuntimeException e) {
+                reserva.setEstado(estadoAnterior);
+                throw e;
+            }
+            if (estadoAnterior == EstadoReserva.ACTIVA) {
+                cuotaReservas.liberar(reserva.getNombreUsuario(), reserva.getFechaHora());
+            }
+        }
+        invalidarDisponibilidad(reserva.getCancha(), reserva.getFechaHora());
     }
     
     /**
@@ -72,11 +220,29 @@ public class ReservaService {
      * @return true si está disponible, false en caso contrario
      */
     public boolean esCanchaDisponible(Cancha cancha, LocalDateTime fechaHora) {
+        if (disponibilidad == null) {
+            return consultarDisponibilidad(cancha, fechaHora);
+        }
+        return disponibilidad.obtener(new ClaveFranja(cancha.getNombre(), fechaHora),
+            () -> consultarDisponibilidad(cancha, fechaHora));
+    }
+    
+    // Consulta directa al repositorio; las escrituras la usan para no decidir con un valor cacheado
+    private boolean consultarDisponibilidad(Cancha cancha, LocalDateTime fechaHora) {
         List<Reserva> reservasExistentes = reservaRepository.findByCanchaAndFechaHora(cancha, fechaHora);
         return reservasExistentes.stream()
             .noneMatch(r -> r.getEstado() == EstadoReserva.ACTIVA);
     }
     
+    private void invalidarDisponibilidad(Cancha cancha, LocalDateTime fechaHora) {
+        if (disponibilidad != null && cancha != null) {
+            disponibilidad.invalidar(new ClaveFranja(cancha.getNombre(), fechaHora));
+        }
+    }
+    
+    private record ClaveFranja(String cancha, LocalDateTime fechaHora) {
+    }
+    
     /**
      * Calcula el número de reservas por día
      * @param fecha la fecha
@@ -86,6 +252,86 @@ public class ReservaService {
         return reservaRepository.findByFecha(fecha).size();
     }
     
+    /**
+     * Obtiene las reservas de una fecha
+     * @param fecha la fecha
+     * @return lista de reservas en esa fecha
+     */
+    public List<Reserva> obtenerReservasPorFecha(LocalDate fecha) {
+        return reservaRepository.findByFecha(fecha);
+    }
+    
+    /**
+     * Obtiene las reservas de un rango de fechas/horas, ordenadas por fecha/hora
+     * @param desde inicio del rango (inclusive)
+     * @param hasta fin del rango (exclusive)
+     * @return lista de reservas en el rango
+     * @throws IllegalArgumentException si el rango está invertido
+     */
+    public List<Reserva> obtenerReservasPorRango(LocalDateTime desde, LocalDateTime hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("El fin del rango es anterior a su inicio");
+        }
+        return reservaRepository.findByRango(desde, hasta);
+    }
+    
+    /**
+     * Obtiene las reservas de una cancha en un rango de fechas/horas
+     * @param desde inicio del rango (inclusive)
+     * @param hasta fin del rango (exclusive)
+     * @param cancha la cancha
+     * @return lista de reservas de la cancha en el rango
+     */
+    public List<Reserva> obtenerReservasPorRango(LocalDateTime desde, LocalDateTime hasta, Cancha cancha) {
+        return obtenerReservasPorRango(desde, hasta).stream()
+            .filter(r -> r.getCancha() != null && Objects.equals(r.getCancha().getNombre(), cancha.getNombre()))
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene las reservas de un tipo de deporte en un rango de fechas/horas
+     * @param desde inicio del rango (inclusive)
+     * @param hasta fin del rango (exclusive)
+     * @param tipoDeporte el tipo de deporte
+     * @return lista de reservas del tipo de deporte en el rango
+     */
+    public List<Reserva> obtenerReservasPorRango(LocalDateTime desde, LocalDateTime hasta, TipoDeporte tipoDeporte) {
+        return obtenerReservasPorRango(desde, hasta).stream()
+            .filter(r -> r.getCancha() != null && r.getCancha().getTipoDeporte() == tipoDeporte)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene las reservas con un estado en un rango de fechas/horas
+     * @param desde inicio del rango (inclusive)
+     * @param hasta fin del rango (exclusive)
+     * @param estado el estado de la reserva
+     * @return lista de reservas con ese estado en el rango
+     */
+    public List<Reserva> obtenerReservasPorRango(LocalDateTime desde, LocalDateTime hasta, EstadoReserva estado) {
+        return obtenerReservasPorRango(desde, hasta).stream()
+            .filter(r -> r.getEstado() == estado)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Obtiene las reservas con un estado
+     * @param estado el estado de la reserva
+     * @return lista de reservas con ese estado
+     */
+    public List<Reserva> obtenerReservasPorEstado(EstadoReserva estado) {
+        return reservaRepository.findByEstado(estado);
+    }
+    
+    /**
+     * Obtiene las reservas de un usuario
+     * @param nombreUsuario nombre del usuario
+     * @return lista de reservas del usuario
+     */
+    public List<Reserva> obtenerReservasDeUsuario(String nombreUsuario) {
+        return reservaRepository.findByNombreUsuario(nombreUsuario);
+    }
+    
     /**
      * Obtiene todas las reservas activas
      * @return lista de reservas activas
@@ -0,0 +1,145 @@
+package cl.kibernumacademy.reservas.admision;
+
+import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.exception.SolicitudRechazadaException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests para ControlAdmision y ColaAdmision")
+class ControlAdmisionTest {
+    
+    @Mock
+    private ReservaService reservaService;
+    
+    private Cancha cancha;
+    private LocalDateTime fechaHora;
+    
+    @BeforeEach
+    void setUp() {
+        cancha = new Cancha("Cancha Tenis", TipoDeporte.TENIS, 
+            Arrays.asList(LocalTime.of(10, 0)));
+        fechaHora = LocalDateTime.of(2024, 12, 15, 10, 0);
+    }
+    
+    @Test
+    @DisplayName("Debería procesar la solicitud admitida de forma asíncrona")
+    void deberiaProcesarSolicitudAdmitida() throws Exception {
+        // Arrange
+        Reserva esperada = new Reserva(cancha, fechaHora, "Juan");
+        when(reservaService.crearReserva(cancha, fechaHora, "Juan")).thenReturn(esperada);
+        
+        try (ControlAdmision control = new ControlAdmision(reservaService,
+                new LimitadorTasa(10, 10, 100, 100), 10, 2)) {
+            // Act
+            Reserva resultado = control.crearReserva(cancha, fechaHora, "Juan").get(5, TimeUnit.SECONDS);
+            
+            // Assert
+            assertThat(resultado).isSameAs(esperada);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería propagar las excepciones del servicio en el futuro")
+    void deberiaPropagarExcepcionesDelServicio() {
+        // Arrange
+        when(reservaService.crearReserva(cancha, fechaHora, "Juan"))
+            .thenThrow(new CanchaNoDisponibleException("La cancha no está disponible en el horario solicitado"));
+        
+        try (ControlAdmision control = new ControlAdmision(reservaService,
+                new LimitadorTasa(10, 10, 100, 100), 10, 1)) {
+            // Act & Assert
+            assertThatThrownBy(() -> control.crearReserva(cancha, fechaHora, "Juan").get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CanchaNoDisponibleException.class);
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar explícitamente por límite de usuario y por cola llena")
+    void deberiaRechazarPorLimiteYColaLlena() throws Exception {
+        // Arrange - el único trabajador queda bloqueado en la primera solicitud
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        when(reservaService.crearReserva(any(), any(), any())).thenAnswer(inv -> {
+            ocupado.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                // close() interrumpe al trabajador ocupado
+            }
+            return null;
+        });
+        
+        ControlAdmision control = new ControlAdmision(reservaService,
+            new LimitadorTasa(1, 0.001, 100, 100), 1, 1);
+        try {
+            control.crearReserva(cancha, fechaHora, "Juan");
+            assertThat(ocupado.await(5, TimeUnit.SECONDS)).isTrue();
+            
+            // Act & Assert - segundo intento del mismo usuario
+            assertThatThrownBy(() -> control.crearReserva(cancha, fechaHora, "Juan"))
+                .isInstanceOf(SolicitudRechazadaException.class)
+                .hasMessageContaining("Demasiadas solicitudes");
+            
+            // Act & Assert - la cola de capacidad 1 se llena
+            CompletableFuture<Reserva> enEspera = control.crearReserva(cancha, fechaHora, "María");
+            assertThatThrownBy(() -> control.crearReserva(cancha, fechaHora, "Pedro"))
+                .isInstanceOf(SolicitudRechazadaException.class)
+                .hasMessageContaining("cola");
+            assertThat(control.solicitudesPendientes()).isEqualTo(1);
+            
+            // Act & Assert - al cerrar se rechazan las pendientes
+            control.close();
+            assertThatThrownBy(() -> enEspera.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(SolicitudRechazadaException.class);
+            assertThatThrownBy(() -> control.crearReserva(cancha, fechaHora, "Ana"))
+                .isInstanceOf(SolicitudRechazadaException.class);
+        } finally {
+            liberar.countDown();
+            control.close();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería atender las canchas por turnos")
+    void deberiaAtenderCanchasPorTurnos() throws InterruptedException {
+        // Arrange - una cancha muy disputada y dos con una sola solicitud
+        ColaAdmision<String> cola = new ColaAdmision<>(10);
+        cola.ofrecer("A", "A1");
+        cola.ofrecer("A", "A2");
+        cola.ofrecer("A", "A3");
+        cola.ofrecer("B", "B1");
+        cola.ofrecer("C", "C1");
+        
+        // Act
+        List<String> orden = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orden.add(cola.tomar());
+        }
+        
+        // Assert
+        assertThat(orden).containsExactly("A1", "B1", "C1", "A2", "A3");
+        assertThat(cola.pendientes()).isZero();
+        assertThatThrownBy(() -> new ColaAdmision<String>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
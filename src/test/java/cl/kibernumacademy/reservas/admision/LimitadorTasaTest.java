@@ -0,0 +1,113 @@
+package cl.kibernumacademy.reservas.admision;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("Tests para LimitadorTasa y CuboDeTokens")
+class LimitadorTasaTest {
+    
+    private final AtomicLong reloj = new AtomicLong(1_000L);
+    
+    @Test
+    @DisplayName("Debería permitir la ráfaga y recargar según la tasa")
+    void deberiaPermitirRafagaYRecargar() {
+        // Arrange - 3 tokens de ráfaga, 10 por segundo
+        CuboDeTokens cubo = new CuboDeTokens(3, 10, reloj::get);
+        
+        // Act & Assert
+        assertThat(cubo.intentarConsumir()).isTrue();
+        assertThat(cubo.intentarConsumir()).isTrue();
+        assertThat(cubo.intentarConsumir()).isTrue();
+        assertThat(cubo.intentarConsumir()).isFalse();
+        
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(cubo.intentarConsumir()).isTrue();
+        assertThat(cubo.intentarConsumir()).isFalse();
+        
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertThat(cubo.estaLleno()).isTrue();
+    }
+    
+    @Test
+    @DisplayName("Debería limitar por usuario sin afectar a otros usuarios")
+    void deberiaLimitarPorUsuario() {
+        // Arrange
+        LimitadorTasa limitador = new LimitadorTasa(1, 1, 100, 100, reloj::get);
+        
+        // Act & Assert
+        assertThat(limitador.intentarAdmitir("Juan")).isEqualTo(LimitadorTasa.Resultado.ADMITIDA);
+        assertThat(limitador.intentarAdmitir("Juan")).isEqualTo(LimitadorTasa.Resultado.RECHAZADA_USUARIO);
+        assertThat(limitador.intentarAdmitir("María")).isEqualTo(LimitadorTasa.Resultado.ADMITIDA);
+    }
+    
+    @Test
+    @DisplayName("Debería aplicar el límite global sobre todos los usuarios")
+    void deberiaAplicarLimiteGlobal() {
+        // Arrange
+        LimitadorTasa limitador = new LimitadorTasa(5, 5, 2, 1, reloj::get);
+        
+        // Act & Assert
+        assertThat(limitador.intentarAdmitir("A")).isEqualTo(LimitadorTasa.Resultado.ADMITIDA);
+        assertThat(limitador.intentarAdmitir("B")).isEqualTo(LimitadorTasa.Resultado.ADMITIDA);
+        assertThat(limitador.intentarAdmitir("C")).isEqualTo(LimitadorTasa.Resultado.RECHAZADA_GLOBAL);
+    }
+    
+    @Test
+    @DisplayName("Debería devolver el token del usuario cuando rechaza el límite global")
+    void deberiaDevolverTokenDeUsuarioAlRechazarGlobal() {
+        // Arrange - el usuario recarga un token cada 10 s y el global uno por segundo
+        LimitadorTasa limitador = new LimitadorTasa(1, 0.1, 1, 1, reloj::get);
+        limitador.intentarAdmitir("A");
+        
+        // Act & Assert
+        assertThat(limitador.intentarAdmitir("B")).isEqualTo(LimitadorTasa.Resultado.RECHAZADA_GLOBAL);
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limitador.intentarAdmitir("B")).isEqualTo(LimitadorTasa.Resultado.ADMITIDA);
+    }
+    
+    @Test
+    @DisplayName("Debería purgar los cubos de usuarios inactivos")
+    void deberiaPurgarCubosInactivos() {
+        // Arrange
+        LimitadorTasa limitador = new LimitadorTasa(2, 1, 100, 100, reloj::get);
+        limitador.intentarAdmitir("Juan");
+        limitador.intentarAdmitir("María");
+        
+        // Act
+        int sinPurgar = limitador.purgarInactivos();
+        reloj.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        int purgados = limitador.purgarInactivos();
+        
+        // Assert
+        assertThat(sinPurgar).isZero();
+        assertThat(purgados).isEqualTo(2);
+        assertThat(limitador.usuariosRastreados()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería purgar los cubos inactivos automáticamente cada intervalo")
+    void deberiaPurgarAutomaticamente() {
+        // Arrange
+        LimitadorTasa limitador = new LimitadorTasa(2, 1, 100, 100, reloj::get);
+        limitador.intentarAdmitir("Juan");
+        limitador.intentarAdmitir("María");
+        
+        // Act
+        reloj.addAndGet(LimitadorTasa.INTERVALO_PURGA_NANOS);
+        limitador.intentarAdmitir("Pedro");
+        
+        // Assert - solo queda el cubo que se acaba de usar
+        assertThat(limitador.usuariosRastreados()).isEqualTo(1);
+        assertThat(limitador.purgarInactivos()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería validar capacidad y tasa")
+    void deberiaValidarParametros() {
+        assertThatThrownBy(() -> new CuboDeTokens(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LimitadorTasa(1, 0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
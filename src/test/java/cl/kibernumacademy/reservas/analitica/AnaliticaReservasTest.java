@@ -0,0 +1,193 @@
+package cl.kibernumacademy.reservas.analitica;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@DisplayName("Tests para AnaliticaReservas")
+class AnaliticaReservasTest {
+
+    private Cancha futbol;
+    private Cancha tenis;
+    private AnaliticaReservas analitica;
+
+    @BeforeEach
+    void setUp() {
+        futbol = new Cancha("Cancha Futbol", TipoDeporte.FUTBOL,
+            Arrays.asList(LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        tenis = new Cancha("Cancha Tenis", TipoDeporte.TENIS,
+            Arrays.asList(LocalTime.of(10, 0)));
+        analitica = new AnaliticaReservas();
+    }
+
+    private Reserva reserva(long id, Cancha cancha, LocalDateTime fechaHora, String usuario) {
+        Reserva reserva = new Reserva(cancha, fechaHora, usuario);
+        reserva.setId(id);
+        return reserva;
+    }
+
+    @Test
+    @DisplayName("Debería calcular ocupación por cancha, deporte, día y hora")
+    void deberiaCalcularOcupacionPorDimension() {
+        // Arrange - 16/12/2024 es lunes
+        LocalDateTime lunes = LocalDateTime.of(2024, 12, 16, 9, 0);
+        Reserva cancelada = reserva(3L, tenis, lunes.plusHours(1), "Ana");
+        cancelada.cancelar();
+
+        // Act
+        analitica.actualizar(Arrays.asList(
+            reserva(1L, futbol, lunes, "Juan"),
+            reserva(2L, futbol, lunes.plusDays(1).plusHours(2), "Ana"),
+            cancelada
+        ));
+
+        // Assert
+        assertThat(analitica.ocupacionPorCancha())
+            .containsEntry("Cancha Futbol", 2L)
+            .containsEntry("Cancha Tenis", 0L);
+        assertThat(analitica.ocupacionPorTipoDeporte())
+            .containsEntry(TipoDeporte.FUTBOL, 2L)
+            .containsEntry(TipoDeporte.TENIS, 0L);
+        assertThat(analitica.ocupacionPorDiaSemana())
+            .containsEntry(DayOfWeek.MONDAY, 1L)
+            .containsEntry(DayOfWeek.TUESDAY, 1L);
+        assertThat(analitica.ocupacionPorHora())
+            .containsEntry(9, 1L)
+            .containsEntry(11, 1L)
+            .containsEntry(10, 0L);
+        assertThat(analitica.tasaCancelacion()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Debería actualizar incrementalmente reservas modificadas por ID")
+    void deberiaActualizarIncrementalmente() {
+        // Arrange
+        Reserva reserva = reserva(1L, futbol, LocalDateTime.of(2024, 12, 16, 9, 0), "Juan");
+        analitica.actualizar(reserva);
+
+        // Act
+        reserva.cancelar();
+        analitica.actualizar(reserva);
+
+        // Assert
+        assertThat(analitica.totalReservas()).isEqualTo(1);
+        assertThat(analitica.ocupacionPorCancha()).containsEntry("Cancha Futbol", 0L);
+        assertThat(analitica.tasaCancelacion()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Debería calcular la tasa de ocupación del período según horarios ofrecidos")
+    void deberiaCalcularTasaOcupacion() {
+        // Arrange - el historial fuera del período no cuenta
+        LocalDateTime fecha = LocalDateTime.of(2024, 12, 16, 9, 0);
+        analitica.actualizar(Arrays.asList(
+            reserva(1L, futbol, fecha, "Juan"),
+            reserva(2L, tenis, fecha.plusHours(1), "Ana"),
+            reserva(3L, futbol, fecha.minusDays(1), "Ana"),
+            reserva(4L, futbol, fecha.plusDays(1).plusHours(2), "Pedro"),
+            reserva(5L, tenis, fecha.plusDays(2).plusHours(1), "Juan")
+        ));
+        LocalDate dia = fecha.toLocalDate();
+
+        // Act
+        Map<String, Double> tasas = analitica.tasaOcupacionPorCancha(dia, dia.plusDays(1));
+        Map<String, Double> dosDias = analitica.tasaOcupacionPorCancha(dia, dia.plusDays(2));
+
+        // Assert
+        assertThat(tasas).containsEntry("Cancha Futbol", 0.5).containsEntry("Cancha Tenis", 1.0);
+        assertThat(dosDias).containsEntry("Cancha Futbol", 0.5).containsEntry("Cancha Tenis", 0.5);
+        assertThatThrownBy(() -> analitica.tasaOcupacionPorCancha(dia, dia))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debería quitar de la vista las reservas eliminadas")
+    void deberiaEliminarReservas() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 12, 16, 9, 0);
+        analitica.actualizar(Arrays.asList(
+            reserva(1L, futbol, fecha, "Juan"),
+            reserva(2L, tenis, fecha.plusHours(1), "Ana"),
+            reserva(3L, futbol, fecha.plusHours(2), "Pedro")
+        ));
+
+        // Act - eliminar la primera fila mueve la última a su lugar
+        boolean eliminada = analitica.eliminar(1L);
+        Reserva modificada = reserva(3L, futbol, fecha.plusHours(2), "Pedro");
+        modificada.cancelar();
+        analitica.actualizar(modificada);
+
+        // Assert
+        assertThat(eliminada).isTrue();
+        assertThat(analitica.eliminar(1L)).isFalse();
+        assertThat(analitica.totalReservas()).isEqualTo(2);
+        assertThat(analitica.ocupacionPorCancha())
+            .containsEntry("Cancha Futbol", 0L)
+            .containsEntry("Cancha Tenis", 1L);
+        assertThat(analitica.usuariosMasActivos(5)).extracting(Map.Entry::getKey).containsExactly("Ana");
+        assertThat(analitica.tasaCancelacion()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Debería ordenar usuarios más activos y cargar desde el repositorio")
+    void deberiaObtenerUsuariosMasActivosDesdeRepositorio() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 12, 16, 9, 0);
+        ReservaRepository repositorio = mock(ReservaRepository.class);
+        when(repositorio.findAll()).thenReturn(Arrays.asList(
+            reserva(1L, futbol, fecha, "Ana"),
+            reserva(2L, futbol, fecha.plusDays(1), "Juan"),
+            reserva(3L, tenis, fecha, "Juan"),
+            reserva(4L, tenis, fecha.plusDays(1), "Pedro")
+        ));
+
+        // Act
+        List<Map.Entry<String, Long>> top = AnaliticaReservas.desde(repositorio).usuariosMasActivos(2);
+
+        // Assert
+        assertThat(top).extracting(Map.Entry::getKey).containsExactly("Juan", "Ana");
+        assertThat(top.get(0).getValue()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Debería agregar en paralelo sobre historiales grandes")
+    void deberiaAgregarEnParaleloSobreHistorialesGrandes() {
+        // Arrange
+        int total = AnaliticaReservas.UMBRAL_PARALELO * 3;
+        List<Reserva> reservas = new ArrayList<>(total);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < total; i++) {
+            Reserva r = reserva(i, i % 2 == 0 ? futbol : tenis, inicio.plusHours(i), "Usuario" + (i % 10));
+            if (i % 4 == 0) {
+                r.setEstado(EstadoReserva.CANCELADA);
+            }
+            reservas.add(r);
+        }
+
+        // Act
+        analitica.actualizar(reservas);
+
+        // Assert
+        assertThat(analitica.ocupacionPorCancha())
+            .containsEntry("Cancha Futbol", (long) total / 4)
+            .containsEntry("Cancha Tenis", (long) total / 2);
+        assertThat(analitica.ocupacionPorHora().values().stream().mapToLong(Long::longValue).sum())
+            .isEqualTo(total * 3L / 4);
+        assertThat(analitica.tasaCancelacion()).isEqualTo(0.25);
+    }
+}
@@ -0,0 +1,85 @@
+package cl.kibernumacademy.reservas.api;
+
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+@DisplayName("Tests para EscritorJson")
+class EscritorJsonTest {
+    
+    private final Cancha cancha = new Cancha("Cancha \"Norte\"", TipoDeporte.TENIS,
+        Arrays.asList(LocalTime.of(8, 0), LocalTime.of(16, 30, 15)));
+    
+    @Test
+    @DisplayName("Debería codificar una reserva con fechas ISO")
+    void deberiaCodificarReserva() throws IOException {
+        // Arrange
+        Reserva reserva = new Reserva(cancha, LocalDateTime.of(2024, 12, 5, 9, 0), "Juan\\Pérez\n");
+        reserva.setId(7L);
+        StringWriter salida = new StringWriter();
+        
+        // Act
+        new EscritorJson(salida).reserva(reserva);
+        
+        // Assert
+        assertThat(salida.toString()).isEqualTo(
+            "{\"id\":7,\"cancha\":\"Cancha \\\"Norte\\\"\",\"fechaHora\":\"2024-12-05T09:00\","
+                + "\"nombreUsuario\":\"Juan\\\\Pérez\\n\",\"estado\":\"ACTIVA\"}");
+    }
+    
+    @Test
+    @DisplayName("Debería codificar listas de canchas y valores nulos")
+    void deberiaCodificarCanchasYNulos() throws IOException {
+        // Arrange
+        StringWriter salida = new StringWriter();
+        EscritorJson escritor = new EscritorJson(salida);
+        
+        // Act
+        escritor.canchas(Arrays.asList(cancha, new Cancha()));
+        
+        // Assert
+        assertThat(salida.toString()).isEqualTo(
+            "[{\"nombre\":\"Cancha \\\"Norte\\\"\",\"tipoDeporte\":\"TENIS\",\"horariosDisponibles\":[\"08:00\",\"16:30:15\"]},"
+                + "{\"nombre\":null,\"tipoDeporte\":null,\"horariosDisponibles\":[]}]");
+    }
+    
+    @Test
+    @DisplayName("Debería escapar caracteres de control")
+    void deberiaEscaparCaracteresDeControl() throws IOException {
+        // Arrange
+        StringWriter salida = new StringWriter();
+        
+        // Act
+        new EscritorJson(salida).error("a\u0001b\tc");
+        
+        // Assert
+        assertThat(salida.toString()).isEqualTo("{\"error\":\"a\\u0001b\\tc\"}");
+    }
+    
+    @Test
+    @DisplayName("Debería incluir alternativas en el error de cancha no disponible")
+    void deberiaIncluirAlternativasEnError() throws IOException {
+        // Arrange
+        LocalDateTime solicitada = LocalDateTime.of(2024, 12, 5, 9, 0);
+        StringWriter salida = new StringWriter();
+        
+        // Act
+        new EscritorJson(salida).error("Ocupada",
+            List.of(new AlternativaReserva(cancha, solicitada.withHour(8), solicitada, true)));
+        
+        // Assert
+        assertThat(salida.toString()).isEqualTo(
+            "{\"error\":\"Ocupada\",\"alternativas\":[{\"cancha\":\"Cancha \\\"Norte\\\"\","
+                + "\"fechaHora\":\"2024-12-05T08:00\",\"mismaCancha\":true,\"minutosDeDiferencia\":60}]}");
+    }
+}
@@ -0,0 +1,221 @@
+package cl.kibernumacademy.reservas.api;
+
+import cl.kibernumacademy.reservas.admision.ControlAdmision;
+import cl.kibernumacademy.reservas.admision.LimitadorTasa;
+import cl.kibernumacademy.reservas.repository.CatalogoCanchasEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.service.CanchaService;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("Tests para ServidorReservas")
+class ServidorReservasTest {
+    
+    private ServidorReservas servidor;
+    private HttpClient cliente;
+    private String base;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        CanchaService canchaService = new CanchaService(new CatalogoCanchasEnMemoria());
+        canchaService.registrarCancha("Norte", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(10, 0)));
+        canchaService.registrarCancha("Sur", TipoDeporte.FUTBOL, Arrays.asList(LocalTime.of(10, 0)));
+        ReservaService reservaService = new ReservaService(new ReservaRepositoryEnMemoria());
+        
+        servidor = new ServidorReservas(reservaService, canchaService,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4);
+        servidor.iniciar();
+        cliente = HttpClient.newHttpClient();
+        base = "http://127.0.0.1:" + servidor.getPuerto();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        servidor.close();
+    }
+    
+    private HttpResponse<String> enviar(String metodo, String ruta) throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + ruta))
+            .method(metodo, HttpRequest.BodyPublishers.noBody())
+            .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+    }
+    
+    @Test
+    @DisplayName("Debería listar canchas y filtrarlas por tipo")
+    void deberiaListarCanchas() throws Exception {
+        // Act
+        HttpResponse<String> todas = enviar("GET", "/canchas");
+        HttpResponse<String> tenis = enviar("GET", "/canchas?tipo=TENIS");
+        
+        // Assert
+        assertThat(todas.statusCode()).isEqualTo(200);
+        assertThat(todas.headers().firstValue("Content-Type")).hasValueSatisfying(v -> assertThat(v).contains("json"));
+        assertThat(todas.body()).contains("\"Norte\"", "\"Sur\"");
+        assertThat(tenis.body()).contains("\"Norte\"").doesNotContain("\"Sur\"");
+    }
+    
+    @Test
+    @DisplayName("Debería crear, consultar, modificar y cancelar una reserva")
+    void deberiaRecorrerCicloDeVidaDeReserva() throws Exception {
+        // Act & Assert - crear
+        HttpResponse<String> creada = enviar("POST", "/reservas?cancha=Norte&fechaHora=2024-12-15T10:00&usuario=Juan%20P%C3%A9rez");
+        assertThat(creada.statusCode()).isEqualTo(201);
+        assertThat(creada.body()).contains("\"id\":1", "\"nombreUsuario\":\"Juan Pérez\"", "\"estado\":\"ACTIVA\"");
+        
+        // Act & Assert - conflicto y disponibilidad
+        assertThat(enviar("POST", "/reservas?cancha=Norte&fechaHora=2024-12-15T10:00&usuario=Ana").statusCode())
+            .isEqualTo(409);
+        assertThat(enviar("GET", "/disponibilidad?cancha=Norte&fechaHora=2024-12-15T10:00").body())
+            .contains("\"disponible\":false");
+        
+        // Act & Assert - listados
+        assertThat(enviar("GET", "/reservas").body()).contains("\"id\":1");
+        assertThat(enviar("GET", "/reservas?usuario=Juan%20P%C3%A9rez").body()).contains("\"id\":1");
+        assertThat(enviar("GET", "/reservas?fecha=2024-12-16").body()).isEqualTo("[]");
+        assertThat(enviar("GET", "/reservas?desde=2024-12-15T00:00&hasta=2024-12-22T00:00&tipo=TENIS").body())
+            .contains("\"id\":1");
+        assertThat(enviar("GET", "/reservas?desde=2024-12-15T00:00&hasta=2024-12-22T00:00&cancha=Sur").body())
+            .isEqualTo("[]");
+        
+        // Act & Assert - modificar
+        HttpResponse<String> modificada = enviar("PUT", "/reservas/1?fechaHora=2024-12-16T10:00");
+        assertThat(modificada.statusCode()).isEqualTo(200);
+        assertThat(modificada.body()).contains("\"fechaHora\":\"2024-12-16T10:00\"");
+        
+        // Act & Assert - cancelar
+        assertThat(enviar("DELETE", "/reservas/1").statusCode()).isEqualTo(204);
+        assertThat(enviar("GET", "/reservas?estado=CANCELADA").body()).contains("\"estado\":\"CANCELADA\"");
+        assertThat(enviar("GET", "/disponibilidad?cancha=Norte&fechaHora=2024-12-16T10:00").body())
+            .contains("\"disponible\":true");
+    }
+    
+    @Test
+    @DisplayName("Debería traducir errores a códigos HTTP")
+    void deberiaTraducirErrores() throws Exception {
+        assertThat(enviar("DELETE", "/reservas/99").statusCode()).isEqualTo(404);
+        assertThat(enviar("GET", "/disponibilidad?cancha=Oeste&fechaHora=2024-12-15T10:00").statusCode()).isEqualTo(404);
+        assertThat(enviar("POST", "/reservas?cancha=Norte&fechaHora=manana&usuario=Ana").statusCode()).isEqualTo(400);
+        assertThat(enviar("POST", "/reservas?cancha=Norte").body()).contains("falta el parámetro fechaHora");
+        assertThat(enviar("GET", "/canchas?tipo=GOLF").statusCode()).isEqualTo(400);
+        assertThat(enviar("GET", "/reservas?desde=2024-12-16T00:00&hasta=2024-12-15T00:00").statusCode()).isEqualTo(400);
+        assertThat(enviar("PUT", "/reservas/abc?fechaHora=2024-12-15T10:00").statusCode()).isEqualTo(400);
+        assertThat(enviar("DELETE", "/canchas").statusCode()).isEqualTo(405);
+        assertThat(enviar("GET", "/reservasXYZ").statusCode()).isEqualTo(404);
+        assertThat(enviar("DELETE", "/reservasXYZ/1").statusCode()).isEqualTo(404);
+        assertThat(enviar("GET", "/canchas-todas").statusCode()).isEqualTo(404);
+        assertThat(enviar("GET", "/canchas/").statusCode()).isEqualTo(200);
+    }
+    
+    @Test
+    @DisplayName("Debería atender solicitudes concurrentes sin dobles reservas")
+    void deberiaAtenderSolicitudesConcurrentes() {
+        // Act - 100 clientes intentan la misma franja
+        List<CompletableFuture<HttpResponse<String>>> respuestas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            HttpRequest solicitud = HttpRequest.newBuilder(
+                    URI.create(base + "/reservas?cancha=Sur&fechaHora=2024-12-20T10:00&usuario=U" + i))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            respuestas.add(cliente.sendAsync(solicitud, HttpResponse.BodyHandlers.ofString()));
+        }
+        
+        // Assert
+        long creadas = respuestas.stream().map(CompletableFuture::join).filter(r -> r.statusCode() == 201).count();
+        long rechazadas = respuestas.stream().map(CompletableFuture::join).filter(r -> r.statusCode() == 409).count();
+        assertThat(creadas).isEqualTo(1);
+        assertThat(rechazadas).isEqualTo(99);
+    }
+    
+    @Test
+    @DisplayName("Debería responder 503 cuando la cola de solicitudes está llena")
+    void deberiaResponderServicioNoDisponibleConColaLlena() throws Exception {
+        // Arrange - un hilo y una solicitud en espera; el listado de activas bloquea
+        CountDownLatch atendiendo = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        ReservaRepositoryEnMemoria bloqueante = new ReservaRepositoryEnMemoria() {
+            @Override
+            public List<Reserva> findByEstado(EstadoReserva estado) {
+                atendiendo.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findByEstado(estado);
+            }
+        };
+        CanchaService canchaService = new CanchaService(new CatalogoCanchasEnMemoria());
+        try (ServidorReservas saturable = new ServidorReservas(new ReservaService(bloqueante), canchaService,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1, 1)) {
+            saturable.iniciar();
+            String raiz = "http://127.0.0.1:" + saturable.getPuerto();
+            HttpRequest listar = HttpRequest.newBuilder(URI.create(raiz + "/reservas")).build();
+            CompletableFuture<HttpResponse<String>> primera = cliente.sendAsync(listar, HttpResponse.BodyHandlers.ofString());
+            atendiendo.await();
+            
+            // Act - una queda en la cola y la otra se rechaza
+            List<CompletableFuture<HttpResponse<String>>> siguientes = List.of(
+                cliente.sendAsync(listar, HttpResponse.BodyHandlers.ofString()),
+                cliente.sendAsync(listar, HttpResponse.BodyHandlers.ofString()));
+            HttpResponse<String> rechazada = siguientes.get(0)
+                .applyToEither(siguientes.get(1), respuesta -> respuesta).get(5, TimeUnit.SECONDS);
+            liberar.countDown();
+            
+            // Assert
+            assertThat(rechazada.statusCode()).isEqualTo(503);
+            assertThat(primera.get(5, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+            assertThat(siguientes).extracting(f -> f.join().statusCode()).containsExactlyInAnyOrder(200, 503);
+        } finally {
+            liberar.countDown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería pasar las reservas nuevas por el control de admisión y responder 429 al rechazar")
+    void deberiaResponderDemasiadasSolicitudesConControlAdmision() throws Exception {
+        // Arrange - un token por usuario que casi no se repone
+        CanchaService canchaService = new CanchaService(new CatalogoCanchasEnMemoria());
+        canchaService.registrarCancha("Norte", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(10, 0)));
+        ReservaService reservaService = new ReservaService(new ReservaRepositoryEnMemoria());
+        try (ControlAdmision control = new ControlAdmision(reservaService, new LimitadorTasa(1, 0.001, 100, 100), 10, 1);
+             ServidorReservas admitido = new ServidorReservas(reservaService, canchaService, control,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2, 8)) {
+            admitido.iniciar();
+            String raiz = "http://127.0.0.1:" + admitido.getPuerto() + "/reservas?cancha=Norte&usuario=Juan&fechaHora=";
+            
+            // Act
+            HttpResponse<String> creada = cliente.send(HttpRequest.newBuilder(URI.create(raiz + "2024-12-15T10:00"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> rechazada = cliente.send(HttpRequest.newBuilder(URI.create(raiz + "2024-12-16T10:00"))
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+            
+            // Assert
+            assertThat(creada.statusCode()).isEqualTo(201);
+            assertThat(rechazada.statusCode()).isEqualTo(429);
+            assertThat(rechazada.body()).contains("Demasiadas solicitudes");
+            assertThat(reservaService.obtenerReservasActivas()).hasSize(1);
+        }
+    }
+}
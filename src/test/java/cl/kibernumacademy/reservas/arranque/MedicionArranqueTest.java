@@ -0,0 +1,57 @@
+package cl.kibernumacademy.reservas.arranque;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@DisplayName("Tests para MedicionArranque")
+class MedicionArranqueTest {
+
+    @Test
+    @DisplayName("Debería cargar los datos y responder las primeras consultas")
+    void deberiaResponderPrimerasConsultas() {
+        // Arrange - 8 canchas con 14 franjas diarias; 112 reservas ocupan un día completo
+        MedicionArranque medicion = new MedicionArranque(8, 112);
+
+        // Act
+        List<Object> respuestas = medicion.primerasConsultas();
+
+        // Assert - 2 canchas de tenis y la primera franja ya está reservada
+        assertThat(respuestas).containsExactly(2, false);
+    }
+
+    @Test
+    @DisplayName("Debería informar la medición con la etiqueta recibida")
+    void deberiaInformarMedicion() {
+        // Arrange
+        PrintStream salidaOriginal = System.out;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(salida, true, StandardCharsets.UTF_8));
+
+        // Act
+        try {
+            MedicionArranque.main(new String[] {"prueba", "8", "112"});
+        } finally {
+            System.setOut(salidaOriginal);
+        }
+
+        // Assert
+        assertThat(salida.toString(StandardCharsets.UTF_8))
+            .startsWith("prueba: primera consulta a los ")
+            .contains("respuestas=[2, false]");
+    }
+
+    @Test
+    @DisplayName("Debería leer la memoria residente del proceso en Linux")
+    void deberiaLeerMemoriaResidente() {
+        assumeTrue(System.getProperty("os.name").startsWith("Linux"), "VmRSS solo existe en Linux");
+
+        // Act & Assert
+        assertThat(MedicionArranque.memoriaResidenteKb()).isPositive();
+    }
+}
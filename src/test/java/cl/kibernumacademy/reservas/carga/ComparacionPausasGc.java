@@ -0,0 +1,164 @@
+package cl.kibernumacademy.reservas.carga;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryFueraDeHeap;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compara las pausas del recolector con el calendario en el heap y fuera de él.
+ *
+ * Carga un historial de reservas pasadas (lo que en producción son años de
+ * ocupación) y luego ejecuta el {@link GeneradorCarga} sobre el mismo
+ * repositorio, midiendo las colecciones ocurridas durante la carga y la
+ * latencia de cola. Antes de medir se construyen los índices perezosos del
+ * repositorio en memoria, de modo que en ambos modos buscar una franja es una
+ * consulta indexada y la diferencia de latencia se debe al recolector y no al
+ * costo de las consultas.
+ *
+ * Para que el historial no influya en la otra medición, cada modo se ejecuta
+ * en su propia JVM con el mismo {@code -Xmx}; el perfil {@code pausas-gc} lo
+ * hace con {@code mvn -Ppausas-gc verify}. No forma parte de los tests porque
+ * fuerza una recolección completa.
+ */
+class ComparacionPausasGc {
+
+    static final String HEAP = "heap";
+    static final String FUERA_DE_HEAP = "fuera-de-heap";
+
+    private static final LocalDateTime INICIO_HISTORIAL = LocalDateTime.of(2015, 1, 5, 0, 0);
+
+    private final ConfiguracionCarga configuracion;
+    private final int historicas;
+
+    ComparacionPausasGc(ConfiguracionCarga configuracion, int historicas) {
+        this.configuracion = configuracion;
+        this.historicas = historicas;
+    }
+
+    /**
+     * Carga el historial y ejecuta la carga sobre un repositorio nuevo del modo indicado
+     * @param modo {@link #HEAP} o {@link #FUERA_DE_HEAP}
+     * @return la medición
+     */
+    Medicion medir(String modo) throws InterruptedException {
+        if (HEAP.equals(modo)) {
+            return medir(modo, new ReservaRepositoryEnMemoria());
+        }
+        if (FUERA_DE_HEAP.equals(modo)) {
+            try (ReservaRepositoryFueraDeHeap repositorio = new ReservaRepositoryFueraDeHeap(historicas + 1)) {
+                return medir(modo, repositorio);
+            }
+        }
+        throw new IllegalArgumentException("Modo desconocido: " + modo);
+    }
+
+    private Medicion medir(String modo, ReservaRepository repositorio) throws InterruptedException {
+        GeneradorCarga generador = new GeneradorCarga(configuracion);
+        cargarHistorial(repositorio, generador.getCanchas());
+        prepararIndices(repositorio, generador.getCanchas().get(0));
+        System.gc();
+
+        long[] antes = recolecciones();
+        ResultadoCarga resultado = generador.ejecutar(repositorio);
+        long[] despues = recolecciones();
+
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsado = runtime.totalMemory() - runtime.freeMemory();
+        return new Medicion(modo, resultado, despues[0] - antes[0], despues[1] - antes[1], heapUsado);
+    }
+
+    private void cargarHistorial(ReservaRepository repositorio, List<Cancha> canchas) {
+        EstadoReserva[] estados = {EstadoReserva.COMPLETADA, EstadoReserva.COMPLETADA, EstadoReserva.CANCELADA};
+        List<LocalTime> horarios = canchas.get(0).getHorariosDisponibles();
+        int porDia = canchas.size() * horarios.size();
+        for (int i = 0; i < historicas; i++) {
+            int franja = i % porDia;
+            Reserva reserva = new Reserva(canchas.get(franja % canchas.size()),
+                INICIO_HISTORIAL.plusDays(i / porDia).with(horarios.get(franja / canchas.size())),
+                "Usuario " + i % configuracion.getUsuarios());
+            reserva.setEstado(estados[i % estados.length]);
+            repositorio.save(reserva);
+        }
+    }
+
+    // Las consultas de la carga no deben pagar la construcción de un índice
+    private void prepararIndices(ReservaRepository repositorio, Cancha cancha) {
+        repositorio.findByCanchaAndFechaHora(cancha, INICIO_HISTORIAL);
+        repositorio.findByNombreUsuario("Usuario 0");
+    }
+
+    private static long[] recolecciones() {
+        long cantidad = 0;
+        long milisegundos = 0;
+        for (GarbageCollectorMXBean recolector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            cantidad += Math.max(0, recolector.getCollectionCount());
+            milisegundos += Math.max(0, recolector.getCollectionTime());
+        }
+        return new long[] {cantidad, milisegundos};
+    }
+
+    static final class Medicion {
+        private final String modo;
+        private final ResultadoCarga resultado;
+        private final long recolecciones;
+        private final long milisegundosRecoleccion;
+        private final long heapUsado;
+
+        private Medicion(String modo, ResultadoCarga resultado, long recolecciones,
+                         long milisegundosRecoleccion, long heapUsado) {
+            this.modo = modo;
+            this.resultado = resultado;
+            this.recolecciones = recolecciones;
+            this.milisegundosRecoleccion = milisegundosRecoleccion;
+            this.heapUsado = heapUsado;
+        }
+
+        ResultadoCarga getResultado() {
+            return resultado;
+        }
+
+        long getRecolecciones() {
+            return recolecciones;
+        }
+
+        long getMilisegundosRecoleccion() {
+            return milisegundosRecoleccion;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                "%s: gc=%d (%d ms) heapUsado=%d MB p99=%.1fus p99.9=%.1fus max=%.1fus ops/s=%.0f",
+                modo, recolecciones, milisegundosRecoleccion, heapUsado / (1024 * 1024),
+                resultado.getLatenciaMicros(99), resultado.getLatenciaMicros(99.9),
+                resultado.getLatenciaMicros(100), resultado.getOperacionesPorSegundo());
+        }
+    }
+
+    /**
+     * Argumentos opcionales: modo ({@code heap}, {@code fuera-de-heap} o
+     * {@code ambos}), reservas históricas y operaciones por hilo.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String modo = args.length > 0 ? args[0] : "ambos";
+        int historicas = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        if (args.length > 2) {
+            configuracion.setOperacionesPorHilo(Integer.parseInt(args[2]));
+        }
+        ComparacionPausasGc comparacion = new ComparacionPausasGc(configuracion, historicas);
+        List<String> modos = "ambos".equals(modo) ? List.of(HEAP, FUERA_DE_HEAP) : List.of(modo);
+        for (String actual : modos) {
+            System.out.println(comparacion.medir(actual));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package cl.kibernumacademy.reservas.carga;
+
+/**
+ * Parámetros de una ejecución del {@link GeneradorCarga}. Las proporciones de
+ * cancelación, modificación y lista de espera se aplican sobre cada
+ * operación; el resto de las operaciones son creaciones de reserva.
+ */
+class ConfiguracionCarga {
+
+    private long semilla = 42L;
+    private int hilos = 4;
+    private int operacionesPorHilo = 2_000;
+    private int canchas = 20;
+    private int dias = 7;
+    private int usuarios = 500;
+    private double exponenteZipfCanchas = 1.0;
+    private double exponenteZipfHorarios = 1.2;
+    private double proporcionCancelaciones = 0.15;
+    private double proporcionModificaciones = 0.10;
+    private double proporcionListaEspera = 0.10;
+
+    long getSemilla() {
+        return semilla;
+    }
+
+    void setSemilla(long semilla) {
+        this.semilla = semilla;
+    }
+
+    int getHilos() {
+        return hilos;
+    }
+
+    void setHilos(int hilos) {
+        this.hilos = hilos;
+    }
+
+    int getOperacionesPorHilo() {
+        return operacionesPorHilo;
+    }
+
+    void setOperacionesPorHilo(int operacionesPorHilo) {
+        this.operacionesPorHilo = operacionesPorHilo;
+    }
+
+    int getCanchas() {
+        return canchas;
+    }
+
+    void setCanchas(int canchas) {
+        this.canchas = canchas;
+    }
+
+    int getDias() {
+        return dias;
+    }
+
+    void setDias(int dias) {
+        this.dias = dias;
+    }
+
+    int getUsuarios() {
+        return usuarios;
+    }
+
+    void setUsuarios(int usuarios) {
+        this.usuarios = usuarios;
+    }
+
+    double getExponenteZipfCanchas() {
+        return exponenteZipfCanchas;
+    }
+
+    void setExponenteZipfCanchas(double exponenteZipfCanchas) {
+        this.exponenteZipfCanchas = exponenteZipfCanchas;
+    }
+
+    double getExponenteZipfHorarios() {
+        return exponenteZipfHorarios;
+    }
+
+    void setExponenteZipfHorarios(double exponenteZipfHorarios) {
+        this.exponenteZipfHorarios = exponenteZipfHorarios;
+    }
+
+    double getProporcionCancelaciones() {
+        return proporcionCancelaciones;
+    }
+
+    void setProporcionCancelaciones(double proporcionCancelaciones) {
+        this.proporcionCancelaciones = proporcionCancelaciones;
+    }
+
+    double getProporcionModificaciones() {
+        return proporcionModificaciones;
+    }
+
+    void setProporcionModificaciones(double proporcionModificaciones) {
+        this.proporcionModificaciones = proporcionModificaciones;
+    }
+
+    double getProporcionListaEspera() {
+        return proporcionListaEspera;
+    }
+
+    void setProporcionListaEspera(double proporcionListaEspera) {
+        this.proporcionListaEspera = proporcionListaEspera;
+    }
+}
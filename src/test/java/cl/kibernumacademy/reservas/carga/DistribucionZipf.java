@@ -0,0 +1,40 @@
+package cl.kibernumacademy.reservas.carga;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Distribución de Zipf sobre los rangos [0, n): el rango k se elige con
+ * probabilidad proporcional a 1 / (k + 1)^s. Con s = 0 es uniforme; valores
+ * mayores concentran la carga en los primeros rangos (horarios "calientes").
+ */
+class DistribucionZipf {
+
+    private final double[] acumulada;
+
+    DistribucionZipf(int n, double exponente) {
+        if (n <= 0 || exponente < 0) {
+            throw new IllegalArgumentException("Se requiere n positivo y exponente no negativo");
+        }
+        acumulada = new double[n];
+        double suma = 0;
+        for (int k = 0; k < n; k++) {
+            suma += 1.0 / Math.pow(k + 1, exponente);
+            acumulada[k] = suma;
+        }
+        for (int k = 0; k < n; k++) {
+            acumulada[k] /= suma;
+        }
+    }
+
+    /**
+     * Obtiene un rango según la distribución
+     * @param random fuente de aleatoriedad (con semilla para resultados reproducibles)
+     * @return rango entre 0 y n - 1
+     */
+    int muestrear(Random random) {
+        int indice = Arrays.binarySearch(acumulada, random.nextDouble());
+        int rango = indice >= 0 ? indice : -indice - 1;
+        return Math.min(rango, acumulada.length - 1);
+    }
+}
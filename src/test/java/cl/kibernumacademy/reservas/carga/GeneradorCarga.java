@@ -0,0 +1,255 @@
+package cl.kibernumacademy.reservas.carga;
+
+import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generador de carga determinista para el flujo de reservas.
+ *
+ * Simula tráfico realista contra cualquier {@link ReservaRepository}: las
+ * canchas y los horarios se eligen con distribuciones de Zipf (pocas franjas
+ * concentran la demanda), y además de crear reservas los usuarios cancelan,
+ * modifican y reintentan desde una lista de espera las franjas que
+ * encontraron ocupadas. Cada hilo usa su propia semilla derivada de la
+ * configuración, por lo que la secuencia de operaciones es reproducible (y
+ * la ejecución completa lo es con un solo hilo).
+ *
+ * Al terminar verifica que no existan dobles reservas y que el número de
+ * reservas activas coincida con lo creado menos lo cancelado.
+ */
+class GeneradorCarga {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2025, 1, 6, 0, 0);
+    private static final int TAMANO_LISTA_ESPERA = 32;
+
+    private final ConfiguracionCarga configuracion;
+    private final List<Cancha> canchas;
+    private final List<LocalTime> horarios;
+    private final List<LocalDateTime> franjasPorPopularidad;
+
+    GeneradorCarga(ConfiguracionCarga configuracion) {
+        this.configuracion = configuracion;
+        this.horarios = new ArrayList<>();
+        for (int hora = 8; hora < 22; hora++) {
+            horarios.add(LocalTime.of(hora, 0));
+        }
+        this.canchas = new ArrayList<>();
+        TipoDeporte[] tipos = TipoDeporte.values();
+        for (int i = 0; i < configuracion.getCanchas(); i++) {
+            canchas.add(new Cancha("Cancha " + i, tipos[i % tipos.length], horarios));
+        }
+        // El rango de popularidad de cada franja se reparte al azar (con semilla)
+        // para que los horarios calientes no queden todos el mismo día
+        this.franjasPorPopularidad = new ArrayList<>();
+        for (int dia = 0; dia < configuracion.getDias(); dia++) {
+            for (LocalTime horario : horarios) {
+                franjasPorPopularidad.add(INICIO.plusDays(dia).with(horario));
+            }
+        }
+        Collections.shuffle(franjasPorPopularidad, new Random(configuracion.getSemilla()));
+    }
+
+    List<Cancha> getCanchas() {
+        return canchas;
+    }
+
+    /**
+     * Ejecuta la carga configurada contra el repositorio
+     * @param reservaRepository repositorio bajo prueba
+     * @return el resultado con métricas e invariantes
+     */
+    ResultadoCarga ejecutar(ReservaRepository reservaRepository) throws InterruptedException {
+        ReservaService reservaService = new ReservaService(reservaRepository);
+        long activasIniciales = reservaRepository.findByEstado(EstadoReserva.ACTIVA).size();
+
+        int hilos = configuracion.getHilos();
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Hilo>> futuros = new ArrayList<>();
+        for (int i = 0; i < hilos; i++) {
+            Hilo hilo = new Hilo(reservaService, new Random(configuracion.getSemilla() * 31 + i));
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                return hilo.call();
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        ResultadoCarga.EstadisticasHilo totales = new ResultadoCarga.EstadisticasHilo();
+        long[] latencias = new long[hilos * configuracion.getOperacionesPorHilo()];
+        try {
+            int desplazamiento = 0;
+            for (Future<Hilo> futuro : futuros) {
+                Hilo hilo = futuro.get();
+                totales.sumar(hilo.estadisticas);
+                System.arraycopy(hilo.latencias, 0, latencias, desplazamiento, hilo.latencias.length);
+                desplazamiento += hilo.latencias.length;
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un hilo de carga", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        List<Reserva> activas = reservaRepository.findByEstado(EstadoReserva.ACTIVA);
+        return new ResultadoCarga(duracion, latencias, totales, contarDoblesReservas(activas),
+            activasIniciales + totales.creadas - totales.canceladas, activas.size());
+    }
+
+    private static long contarDoblesReservas(List<Reserva> activas) {
+        Map<String, Integer> porFranja = new HashMap<>();
+        for (Reserva reserva : activas) {
+            porFranja.merge(reserva.getCancha().getNombre() + "@" + reserva.getFechaHora(), 1, Integer::sum);
+        }
+        return porFranja.values().stream().filter(n -> n > 1).count();
+    }
+
+    /**
+     * Un cliente simulado: mantiene sus reservas y su lista de espera
+     */
+    private final class Hilo implements Callable<Hilo> {
+
+        private final ReservaService reservaService;
+        private final Random random;
+        private final DistribucionZipf zipfCanchas;
+        private final DistribucionZipf zipfFranjas;
+        private final List<Long> misReservas = new ArrayList<>();
+        private final Deque<Franja> listaEspera = new ArrayDeque<>();
+        private final long[] latencias = new long[configuracion.getOperacionesPorHilo()];
+        private final ResultadoCarga.EstadisticasHilo estadisticas = new ResultadoCarga.EstadisticasHilo();
+
+        private Hilo(ReservaService reservaService, Random random) {
+            this.reservaService = reservaService;
+            this.random = random;
+            this.zipfCanchas = new DistribucionZipf(canchas.size(), configuracion.getExponenteZipfCanchas());
+            this.zipfFranjas = new DistribucionZipf(franjasPorPopularidad.size(),
+                configuracion.getExponenteZipfHorarios());
+        }
+
+        @Override
+        public Hilo call() {
+            double cancelar = configuracion.getProporcionCancelaciones();
+            double modificar = cancelar + configuracion.getProporcionModificaciones();
+            double esperar = modificar + configuracion.getProporcionListaEspera();
+            for (int i = 0; i < latencias.length; i++) {
+                double sorteo = random.nextDouble();
+                long inicio = System.nanoTime();
+                if (sorteo < cancelar && !misReservas.isEmpty()) {
+                    cancelar();
+                } else if (sorteo < modificar && !misReservas.isEmpty()) {
+                    modificar();
+                } else if (sorteo < esperar && !listaEspera.isEmpty()) {
+                    reintentarListaEspera();
+                } else {
+                    crear(new Franja(canchas.get(zipfCanchas.muestrear(random)), siguienteFranja()),
+                        "Usuario " + random.nextInt(configuracion.getUsuarios()));
+                }
+                latencias[i] = System.nanoTime() - inicio;
+            }
+            return this;
+        }
+
+        private LocalDateTime siguienteFranja() {
+            return franjasPorPopularidad.get(zipfFranjas.muestrear(random));
+        }
+
+        private boolean crear(Franja franja, String usuario) {
+            try {
+                Reserva reserva = reservaService.crearReserva(franja.cancha, franja.fechaHora, usuario);
+                misReservas.add(reserva.getId());
+                estadisticas.creadas++;
+                return true;
+            } catch (CanchaNoDisponibleException e) {
+                estadisticas.conflictos++;
+                if (listaEspera.size() == TAMANO_LISTA_ESPERA) {
+                    listaEspera.pollFirst();
+                }
+                listaEspera.addLast(franja.conUsuario(usuario));
+                return false;
+            }
+        }
+
+        private void cancelar() {
+            Long id = misReservas.remove(random.nextInt(misReservas.size()));
+            reservaService.cancelarReserva(id);
+            estadisticas.canceladas++;
+        }
+
+        private void modificar() {
+            Long id = misReservas.get(random.nextInt(misReservas.size()));
+            try {
+                reservaService.modificarReserva(id, siguienteFranja());
+                estadisticas.modificadas++;
+            } catch (CanchaNoDisponibleException e) {
+                estadisticas.modificacionesRechazadas++;
+            }
+        }
+
+        private void reintentarListaEspera() {
+            Franja franja = listaEspera.pollFirst();
+            // Si la franja sigue ocupada, crear() la vuelve a encolar al final
+            if (crear(franja, franja.usuario)) {
+                estadisticas.creadasDesdeListaEspera++;
+            }
+        }
+    }
+
+    private static final class Franja {
+        private final Cancha cancha;
+        private final LocalDateTime fechaHora;
+        private final String usuario;
+
+        private Franja(Cancha cancha, LocalDateTime fechaHora) {
+            this(cancha, fechaHora, null);
+        }
+
+        private Franja(Cancha cancha, LocalDateTime fechaHora, String usuario) {
+            this.cancha = cancha;
+            this.fechaHora = fechaHora;
+            this.usuario = usuario;
+        }
+
+        private Franja conUsuario(String usuario) {
+            return new Franja(cancha, fechaHora, usuario);
+        }
+    }
+
+    /**
+     * Ejecuta una prueba de resistencia con la configuración por defecto sobre
+     * el repositorio en memoria. Argumentos opcionales: hilos y operaciones por hilo.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        if (args.length > 0) {
+            configuracion.setHilos(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            configuracion.setOperacionesPorHilo(Integer.parseInt(args[1]));
+        }
+        System.out.println(new GeneradorCarga(configuracion).ejecutar(new ReservaRepositoryEnMemoria()));
+    }
+}
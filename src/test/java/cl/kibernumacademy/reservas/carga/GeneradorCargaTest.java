@@ -0,0 +1,99 @@
+package cl.kibernumacademy.reservas.carga;
+
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryFueraDeHeap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.util.Random;
+
+@DisplayName("Tests para GeneradorCarga")
+class GeneradorCargaTest {
+
+    private ConfiguracionCarga configuracion;
+
+    @BeforeEach
+    void setUp() {
+        configuracion = new ConfiguracionCarga();
+        configuracion.setOperacionesPorHilo(1_500);
+        configuracion.setCanchas(5);
+        configuracion.setDias(2);
+    }
+
+    @Test
+    @DisplayName("Debería mantener las invariantes bajo carga concurrente")
+    void deberiaMantenerInvariantesBajoCargaConcurrente() throws InterruptedException {
+        // Arrange
+        configuracion.setHilos(4);
+
+        // Act
+        ResultadoCarga resultado = new GeneradorCarga(configuracion).ejecutar(new ReservaRepositoryEnMemoria());
+
+        // Assert
+        assertThat(resultado.getOperaciones()).isEqualTo(6_000);
+        assertThat(resultado.getDoblesReservas()).isZero();
+        assertThat(resultado.invariantesCumplidas()).as(resultado.toString()).isTrue();
+        assertThat(resultado.getConflictos()).isPositive();
+        assertThat(resultado.getCanceladas()).isPositive();
+        assertThat(resultado.getModificadas() + resultado.getModificacionesRechazadas()).isPositive();
+        assertThat(resultado.getLatenciaMicros(50)).isLessThanOrEqualTo(resultado.getLatenciaMicros(99));
+        assertThat(resultado.toString()).contains("invariantes=OK");
+    }
+
+    @Test
+    @DisplayName("Debería ser reproducible con la misma semilla en un hilo")
+    void deberiaSerReproducibleConMismaSemilla() throws InterruptedException {
+        // Arrange
+        configuracion.setHilos(1);
+
+        // Act
+        ResultadoCarga primera = new GeneradorCarga(configuracion).ejecutar(new ReservaRepositoryEnMemoria());
+        ResultadoCarga segunda = new GeneradorCarga(configuracion).ejecutar(new ReservaRepositoryEnMemoria());
+
+        // Assert
+        assertThat(segunda.getCreadas()).isEqualTo(primera.getCreadas());
+        assertThat(segunda.getConflictos()).isEqualTo(primera.getConflictos());
+        assertThat(segunda.getCanceladas()).isEqualTo(primera.getCanceladas());
+        assertThat(segunda.getModificadas()).isEqualTo(primera.getModificadas());
+        assertThat(segunda.getCreadasDesdeListaEspera()).isEqualTo(primera.getCreadasDesdeListaEspera());
+    }
+
+    @Test
+    @DisplayName("Debería mantener las invariantes sobre el repositorio fuera del heap")
+    void deberiaMantenerInvariantesFueraDelHeap() throws InterruptedException {
+        // Arrange
+        configuracion.setHilos(2);
+
+        try (ReservaRepositoryFueraDeHeap repositorio = new ReservaRepositoryFueraDeHeap(16)) {
+            // Act
+            ResultadoCarga resultado = new GeneradorCarga(configuracion).ejecutar(repositorio);
+
+            // Assert
+            assertThat(resultado.getDoblesReservas()).isZero();
+            assertThat(resultado.invariantesCumplidas()).as(resultado.toString()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería concentrar la demanda en los primeros rangos de Zipf")
+    void deberiaConcentrarDemandaEnPrimerosRangos() {
+        // Arrange
+        DistribucionZipf zipf = new DistribucionZipf(10, 1.5);
+        DistribucionZipf uniforme = new DistribucionZipf(10, 0);
+        Random random = new Random(7);
+        int[] conteo = new int[10];
+        int[] conteoUniforme = new int[10];
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            conteo[zipf.muestrear(random)]++;
+            conteoUniforme[uniforme.muestrear(random)]++;
+        }
+
+        // Assert
+        assertThat(conteo[0]).isGreaterThan(conteo[1]).isGreaterThan(conteo[9] * 10);
+        assertThat(conteoUniforme[0]).isBetween(800, 1_200);
+        assertThatThrownBy(() -> new DistribucionZipf(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
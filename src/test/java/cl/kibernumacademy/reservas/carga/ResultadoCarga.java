@@ -0,0 +1,144 @@
+package cl.kibernumacademy.reservas.carga;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumen de una ejecución del {@link GeneradorCarga}: contadores por tipo de
+ * operación, latencias y verificación de invariantes al finalizar.
+ */
+class ResultadoCarga {
+
+    private final long duracionNanos;
+    private final long[] latenciasOrdenadas;
+    private final long creadas;
+    private final long conflictos;
+    private final long canceladas;
+    private final long modificadas;
+    private final long modificacionesRechazadas;
+    private final long creadasDesdeListaEspera;
+    private final long doblesReservas;
+    private final long activasEsperadas;
+    private final long activasEncontradas;
+
+    ResultadoCarga(long duracionNanos, long[] latencias, EstadisticasHilo totales,
+                   long doblesReservas, long activasEsperadas, long activasEncontradas) {
+        this.duracionNanos = duracionNanos;
+        this.latenciasOrdenadas = latencias.clone();
+        Arrays.sort(this.latenciasOrdenadas);
+        this.creadas = totales.creadas;
+        this.conflictos = totales.conflictos;
+        this.canceladas = totales.canceladas;
+        this.modificadas = totales.modificadas;
+        this.modificacionesRechazadas = totales.modificacionesRechazadas;
+        this.creadasDesdeListaEspera = totales.creadasDesdeListaEspera;
+        this.doblesReservas = doblesReservas;
+        this.activasEsperadas = activasEsperadas;
+        this.activasEncontradas = activasEncontradas;
+    }
+
+    long getOperaciones() {
+        return latenciasOrdenadas.length;
+    }
+
+    double getOperacionesPorSegundo() {
+        return duracionNanos == 0 ? 0 : getOperaciones() * (double) TimeUnit.SECONDS.toNanos(1) / duracionNanos;
+    }
+
+    /**
+     * Obtiene un percentil de latencia
+     * @param percentil valor entre 0 y 100
+     * @return latencia en microsegundos
+     */
+    double getLatenciaMicros(double percentil) {
+        if (latenciasOrdenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * latenciasOrdenadas.length) - 1;
+        indice = Math.max(0, Math.min(indice, latenciasOrdenadas.length - 1));
+        return latenciasOrdenadas[indice] / 1_000.0;
+    }
+
+    /**
+     * Proporción de intentos de creación rechazados por cancha ocupada
+     */
+    double getTasaConflictos() {
+        long intentos = creadas + conflictos;
+        return intentos == 0 ? 0 : (double) conflictos / intentos;
+    }
+
+    long getCreadas() {
+        return creadas;
+    }
+
+    long getConflictos() {
+        return conflictos;
+    }
+
+    long getCanceladas() {
+        return canceladas;
+    }
+
+    long getModificadas() {
+        return modificadas;
+    }
+
+    long getModificacionesRechazadas() {
+        return modificacionesRechazadas;
+    }
+
+    long getCreadasDesdeListaEspera() {
+        return creadasDesdeListaEspera;
+    }
+
+    /**
+     * Franjas (cancha + fecha/hora) con más de una reserva activa; debe ser 0
+     */
+    long getDoblesReservas() {
+        return doblesReservas;
+    }
+
+    /**
+     * Indica si se cumplen las invariantes: sin dobles reservas y con tantas
+     * reservas activas como creadas menos canceladas
+     */
+    boolean invariantesCumplidas() {
+        return doblesReservas == 0 && activasEsperadas == activasEncontradas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+            "operaciones=%d (%.0f op/s) latencia p50=%.1fus p95=%.1fus p99=%.1fus max=%.1fus%n"
+                + "creadas=%d (lista de espera=%d) conflictos=%d (%.1f%%) canceladas=%d "
+                + "modificadas=%d rechazadas=%d%n"
+                + "dobles reservas=%d activas esperadas=%d encontradas=%d invariantes=%s",
+            getOperaciones(), getOperacionesPorSegundo(),
+            getLatenciaMicros(50), getLatenciaMicros(95), getLatenciaMicros(99), getLatenciaMicros(100),
+            creadas, creadasDesdeListaEspera, conflictos, getTasaConflictos() * 100, canceladas,
+            modificadas, modificacionesRechazadas,
+            doblesReservas, activasEsperadas, activasEncontradas, invariantesCumplidas() ? "OK" : "FALLIDAS");
+    }
+
+    /**
+     * Contadores de un hilo de carga; se suman al final de la ejecución
+     */
+    static final class EstadisticasHilo {
+        long creadas;
+        long conflictos;
+        long canceladas;
+        long modificadas;
+        long modificacionesRechazadas;
+        long creadasDesdeListaEspera;
+
+        void sumar(EstadisticasHilo otras) {
+            creadas += otras.creadas;
+            conflictos += otras.conflictos;
+            canceladas += otras.canceladas;
+            modificadas += otras.modificadas;
+            modificacionesRechazadas += otras.modificacionesRechazadas;
+            creadasDesdeListaEspera += otras.creadasDesdeListaEspera;
+        }
+    }
+}
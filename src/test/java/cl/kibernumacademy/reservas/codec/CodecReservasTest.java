@@ -0,0 +1,224 @@
+package cl.kibernumacademy.reservas.codec;
+
+import cl.kibernumacademy.reservas.exception.CodificacionException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+@DisplayName("Tests para CodecReservas")
+class CodecReservasTest {
+    
+    private Cancha cancha;
+    private CodecReservas emisor;
+    private CodecReservas receptor;
+    
+    @BeforeEach
+    void setUp() {
+        cancha = new Cancha("Cancha Ñuñoa", TipoDeporte.PADDLE,
+            Arrays.asList(LocalTime.of(9, 0), LocalTime.of(18, 30)));
+        emisor = new CodecReservas(new TablaCanchas());
+        receptor = new CodecReservas(new TablaCanchas());
+    }
+    
+    @Test
+    @DisplayName("Debería hacer round-trip de cancha y reserva entre tablas distintas")
+    void deberiaHacerRoundTripEntreTablas() {
+        // Arrange
+        Reserva reserva = new Reserva(cancha, LocalDateTime.of(2024, 12, 15, 10, 0), "José Pérez");
+        reserva.setId(123_456_789L);
+        reserva.cancelar();
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        
+        // Act
+        emisor.escribirCancha(buffer, cancha);
+        emisor.escribirReserva(buffer, reserva);
+        buffer.flip();
+        Cancha canchaLeida = receptor.leerCancha(buffer);
+        Reserva leida = receptor.leerReserva(buffer);
+        
+        // Assert
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(canchaLeida.getNombre()).isEqualTo("Cancha Ñuñoa");
+        assertThat(canchaLeida.getTipoDeporte()).isEqualTo(TipoDeporte.PADDLE);
+        assertThat(canchaLeida.getHorariosDisponibles()).containsExactly(LocalTime.of(9, 0), LocalTime.of(18, 30));
+        assertThat(leida.getId()).isEqualTo(123_456_789L);
+        assertThat(leida.getCancha()).isSameAs(canchaLeida);
+        assertThat(leida.getFechaHora()).isEqualTo(reserva.getFechaHora());
+        assertThat(leida.getNombreUsuario()).isEqualTo("José Pérez");
+        assertThat(leida.getEstado()).isEqualTo(EstadoReserva.CANCELADA);
+    }
+    
+    @Test
+    @DisplayName("Debería codificar de forma compacta y decodificar desde buffers directos")
+    void deberiaCodificarCompactoYDecodificarDesdeBufferDirecto() {
+        // Arrange
+        Reserva reserva = new Reserva(cancha, LocalDateTime.of(2024, 12, 15, 10, 0), "Ana");
+        reserva.setId(1L);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(CodecReservas.tamanoMaximo(reserva));
+        
+        // Act
+        emisor.escribirReserva(buffer, reserva);
+        int tamano = buffer.position();
+        buffer.flip();
+        Reserva leida = emisor.leerReserva(buffer);
+        
+        // Assert - versión, flags, id, cancha (1 byte c/u), minuto epoch (4), usuario (1 + 3) y estado (1)
+        assertThat(tamano).isEqualTo(13);
+        assertThat(leida.getNombreUsuario()).isEqualTo("Ana");
+        assertThat(leida.getCancha()).isSameAs(cancha);
+    }
+    
+    @Test
+    @DisplayName("Debería usar códigos fijos y únicos para tipos de deporte y estados")
+    void deberiaUsarCodigosFijos() {
+        // Arrange - bytes escritos por la versión 1: TENIS es 3 y CANCELADA es 1
+        Cancha tenis = new Cancha("A", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(10, 0)));
+        Reserva cancelada = new Reserva();
+        cancelada.cancelar();
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        
+        // Act
+        emisor.escribirCancha(buffer, tenis);
+        emisor.escribirReserva(buffer, cancelada);
+        buffer.flip();
+        byte[] escritos = new byte[buffer.remaining()];
+        buffer.duplicate().get(escritos);
+        
+        // Assert
+        assertThat(escritos).containsExactly(1, 0, 1, 'A', 3, 1, 0xA0, 0x99, 2, 1, 1 << 4, 1);
+        assertThat(receptor.leerCancha(buffer).getTipoDeporte()).isEqualTo(TipoDeporte.TENIS);
+        assertThat(receptor.leerReserva(buffer).getEstado()).isEqualTo(EstadoReserva.CANCELADA);
+        Set<Integer> tipos = new HashSet<>();
+        for (TipoDeporte tipo : TipoDeporte.values()) {
+            assertThat(tipos.add(CodecReservas.codigo(tipo))).as(tipo.name()).isTrue();
+        }
+        Set<Integer> estados = new HashSet<>();
+        for (EstadoReserva estado : EstadoReserva.values()) {
+            assertThat(estados.add(CodecReservas.codigo(estado))).as(estado.name()).isTrue();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería preservar campos nulos y fechas anteriores a 1970")
+    void deberiaPreservarNulosYFechasNegativas() {
+        // Arrange
+        Reserva vacia = new Reserva();
+        vacia.setEstado(null);
+        Reserva antigua = new Reserva(null, LocalDateTime.of(1965, 3, 1, 7, 15), null);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        
+        // Act
+        emisor.escribirReserva(buffer, vacia);
+        emisor.escribirReserva(buffer, antigua);
+        buffer.flip();
+        Reserva vaciaLeida = emisor.leerReserva(buffer);
+        Reserva antiguaLeida = emisor.leerReserva(buffer);
+        
+        // Assert
+        assertThat(vaciaLeida.getId()).isNull();
+        assertThat(vaciaLeida.getCancha()).isNull();
+        assertThat(vaciaLeida.getEstado()).isNull();
+        assertThat(antiguaLeida.getFechaHora()).isEqualTo(LocalDateTime.of(1965, 3, 1, 7, 15));
+        assertThat(antiguaLeida.getEstado()).isEqualTo(EstadoReserva.ACTIVA);
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar versiones desconocidas, datos truncados y canchas no registradas")
+    void deberiaRechazarDatosInvalidos() {
+        // Arrange
+        Reserva reserva = new Reserva(cancha, LocalDateTime.of(2024, 12, 15, 10, 0), "Ana");
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        emisor.escribirReserva(buffer, reserva);
+        buffer.flip();
+        
+        // Act & Assert - el receptor no conoce la cancha
+        assertThatThrownBy(() -> receptor.leerReserva(buffer.duplicate()))
+            .isInstanceOf(CodificacionException.class)
+            .hasMessageContaining("Cancha no registrada");
+        assertThatThrownBy(() -> emisor.leerReserva(ByteBuffer.wrap(new byte[] {9})))
+            .isInstanceOf(CodificacionException.class)
+            .hasMessageContaining("Versión");
+        assertThatThrownBy(() -> emisor.leerReserva(buffer.duplicate().limit(4)))
+            .isInstanceOf(CodificacionException.class)
+            .hasMessageContaining("truncada");
+        assertThatThrownBy(() -> emisor.escribirReserva(ByteBuffer.allocate(64),
+                new Reserva(cancha, LocalDateTime.of(2024, 12, 15, 10, 0, 30), "Ana")))
+            .isInstanceOf(CodificacionException.class);
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar con CodificacionException las entradas corruptas")
+    void deberiaRechazarEntradasCorruptas() {
+        // Arrange - la cancha válida sirve de base para las corrupciones
+        ByteBuffer valida = ByteBuffer.allocate(64);
+        emisor.escribirCancha(valida, cancha);
+        valida.flip();
+        byte[] bytes = Arrays.copyOf(valida.array(), valida.limit());
+        
+        // ID interno enorme (varint 0x7FFFFFFF) y negativo (varint de 5 bytes con el bit de signo)
+        byte[] idEnorme = {CodecReservas.VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 0};
+        byte[] idNegativo = {CodecReservas.VERSION, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0};
+        // Nombre vacío, sin tipo y una cantidad de horarios que no cabe en el buffer
+        byte[] cantidadEnorme = {CodecReservas.VERSION, 0, 0, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        // Un horario con segundo del día 100000
+        byte[] horarioInvalido = {CodecReservas.VERSION, 0, 0, 0, 1, (byte) 0xA0, (byte) 0x8D, 0x06};
+        // Reserva solo con fecha: minuto epoch con zigzag máximo
+        byte[] fechaInvalida = {CodecReservas.VERSION, 1 << 2,
+            (byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01};
+        
+        // Act & Assert
+        for (byte[] corrupta : Arrays.asList(idEnorme, idNegativo, cantidadEnorme, horarioInvalido)) {
+            assertThatThrownBy(() -> receptor.leerCancha(ByteBuffer.wrap(corrupta)))
+                .isInstanceOf(CodificacionException.class);
+        }
+        for (int corte = 0; corte < bytes.length; corte++) {
+            ByteBuffer truncada = ByteBuffer.wrap(Arrays.copyOf(bytes, corte));
+            assertThatThrownBy(() -> receptor.leerCancha(truncada)).isInstanceOf(CodificacionException.class);
+        }
+        assertThatThrownBy(() -> receptor.leerReserva(ByteBuffer.wrap(fechaInvalida)))
+            .isInstanceOf(CodificacionException.class)
+            .hasMessageContaining("Fecha/hora");
+        assertThatThrownBy(() -> emisor.escribirCancha(ByteBuffer.allocate(64), new Cancha(null, TipoDeporte.TENIS, null)))
+            .isInstanceOf(CodificacionException.class);
+        assertThat(receptor.leerCancha(ByteBuffer.wrap(bytes)).getNombre()).isEqualTo("Cancha Ñuñoa");
+    }
+    
+    @Test
+    @DisplayName("Debería codificar en volumen de forma compacta")
+    void deberiaCodificarEnVolumen() {
+        // Arrange
+        int total = 200_000;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(total * 32);
+        LocalDateTime inicio = LocalDateTime.of(2024, 1, 1, 8, 0);
+        Reserva reserva = new Reserva(cancha, inicio, "Usuario frecuente");
+        
+        // Act
+        for (int i = 0; i < total; i++) {
+            reserva.setId((long) i);
+            reserva.setFechaHora(inicio.plusMinutes(i));
+            emisor.escribirReserva(buffer, reserva);
+        }
+        buffer.flip();
+        long sumaIds = 0;
+        for (int i = 0; i < total; i++) {
+            sumaIds += emisor.leerReserva(buffer).getId();
+        }
+        
+        // Assert - menos de 32 bytes por reserva
+        assertThat(sumaIds).isEqualTo((long) total * (total - 1) / 2);
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(buffer.limit()).isLessThan(total * 32);
+    }
+}
@@ -0,0 +1,274 @@
+package cl.kibernumacademy.reservas.replicacion;
+
+import cl.kibernumacademy.reservas.exception.CodificacionException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.service.ReservaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("Tests para la replicación líder-seguidor")
+class ReplicacionReservasTest {
+    
+    private TransporteEnMemoria transporte;
+    private ReservaRepositoryLider lider;
+    private ReservaService servicioLider;
+    private Cancha cancha;
+    private LocalDateTime fechaHora;
+    
+    @BeforeEach
+    void setUp() {
+        transporte = new TransporteEnMemoria();
+        lider = new ReservaRepositoryLider(new ReservaRepositoryEnMemoria(), transporte);
+        servicioLider = new ReservaService(lider);
+        cancha = new Cancha("Cancha Central", TipoDeporte.BASQUETBOL, 
+            Arrays.asList(LocalTime.of(10, 0)));
+        fechaHora = LocalDateTime.of(2024, 12, 15, 10, 0);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        transporte.close();
+    }
+    
+    @Test
+    @DisplayName("Debería replicar creaciones, modificaciones y cancelaciones en orden")
+    void deberiaReplicarCambiosEnOrden() throws InterruptedException {
+        // Arrange
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        ReservaService servicioSeguidor = new ReservaService(seguidor);
+        
+        // Act
+        Reserva reserva = servicioLider.crearReserva(cancha, fechaHora, "Juan Pérez");
+        long secuencia = lider.getUltimaSecuencia();
+        
+        // Assert - lectura de las propias escrituras desde la réplica
+        assertThat(seguidor.esperarSecuencia(secuencia, Duration.ofSeconds(5))).isTrue();
+        assertThat(servicioSeguidor.esCanchaDisponible(cancha, fechaHora)).isFalse();
+        assertThat(seguidor.findByNombreUsuario("Juan Pérez")).hasSize(1);
+        
+        // Act
+        servicioLider.modificarReserva(reserva.getId(), fechaHora.plusDays(1));
+        servicioLider.cancelarReserva(reserva.getId());
+        
+        // Assert
+        assertThat(seguidor.esperarSecuencia(lider.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        Reserva replicada = seguidor.findById(reserva.getId()).orElseThrow();
+        assertThat(replicada).isNotSameAs(reserva);
+        assertThat(replicada.getFechaHora()).isEqualTo(fechaHora.plusDays(1));
+        assertThat(replicada.getEstado()).isEqualTo(EstadoReserva.CANCELADA);
+        assertThat(replicada.getCancha().getNombre()).isEqualTo("Cancha Central");
+        assertThat(seguidor.getRetraso()).isZero();
+        
+        // Act
+        lider.deleteById(reserva.getId());
+        
+        // Assert
+        assertThat(seguidor.esperarSecuencia(lider.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        assertThat(seguidor.findAll()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Debería ponerse al día un seguidor que se suscribe tarde")
+    void deberiaPonerseAlDiaSeguidorTardio() throws InterruptedException {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            servicioLider.crearReserva(cancha, fechaHora.plusHours(i), "Usuario " + i);
+        }
+        
+        // Act
+        ReservaRepositorySeguidor tardio = new ReservaRepositorySeguidor(transporte);
+        
+        // Assert
+        assertThat(tardio.esperarSecuencia(lider.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        assertThat(tardio.findByEstado(EstadoReserva.ACTIVA)).hasSize(50);
+        assertThat(tardio.findByFecha(fechaHora.toLocalDate())).hasSize(14);
+        assertThat(tardio.findByCanchaAndFechaHora(cancha, fechaHora)).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Debería descartar entradas cubiertas por una instantánea y poner al día desde ella")
+    void deberiaPonerseAlDiaDesdeInstantanea() throws InterruptedException {
+        // Arrange - instantánea cada 10 entradas
+        ReservaRepositoryLider conInstantaneas = new ReservaRepositoryLider(
+            new ReservaRepositoryEnMemoria(), transporte, 10);
+        ReservaService servicio = new ReservaService(conInstantaneas);
+        for (int i = 0; i < 50; i++) {
+            servicio.crearReserva(cancha, fechaHora.plusHours(i), "Usuario " + i);
+        }
+        
+        // Act
+        ReservaRepositorySeguidor tardio = new ReservaRepositorySeguidor(transporte);
+        Reserva nueva = servicio.crearReserva(cancha, fechaHora.plusDays(30), "Tardío");
+        
+        // Assert - el transporte solo retiene lo posterior a la última instantánea
+        assertThat(transporte.entradasRetenidas()).isLessThan(10);
+        assertThat(tardio.esperarSecuencia(conInstantaneas.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        assertThat(tardio.getFallo()).isEmpty();
+        assertThat(tardio.findByEstado(EstadoReserva.ACTIVA)).hasSize(51);
+        assertThat(tardio.findByCanchaAndFechaHora(cancha, fechaHora)).hasSize(1);
+        assertThat(tardio.findById(nueva.getId()).orElseThrow().getCancha().getNombre())
+            .isEqualTo("Cancha Central");
+    }
+    
+    @Test
+    @DisplayName("No debería guardar en el líder un cambio que no se pudo publicar")
+    void noDeberiaGuardarCambioNoPublicado() {
+        // Arrange
+        TransporteEnMemoria cerrado = new TransporteEnMemoria();
+        cerrado.close();
+        ReservaRepositoryLider sinTransporte = new ReservaRepositoryLider(new ReservaRepositoryEnMemoria(), cerrado);
+        Reserva reserva = new Reserva(cancha, fechaHora, "Juan Pérez");
+        
+        // Act & Assert
+        assertThatThrownBy(() -> sinTransporte.save(reserva))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(sinTransporte.findAll()).isEmpty();
+        assertThat(reserva.getId()).isNull();
+        assertThat(sinTransporte.getUltimaSecuencia()).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería deshacer en los seguidores un cambio publicado que el delegado rechazó")
+    void deberiaDeshacerEnSeguidoresCambioRechazado() throws InterruptedException {
+        // Arrange - delegado que falla al guardar
+        ReservaRepositoryLider conFallo = new ReservaRepositoryLider(new ReservaRepositoryEnMemoria() {
+            @Override
+            public synchronized Reserva save(Reserva reserva) {
+                throw new IllegalStateException("almacenamiento no disponible");
+            }
+        }, transporte);
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        
+        // Act
+        assertThatThrownBy(() -> conFallo.save(new Reserva(cancha, fechaHora, "Juan Pérez")))
+            .hasMessageContaining("no disponible");
+        
+        // Assert - definición de cancha, reserva y su eliminación compensatoria
+        assertThat(conFallo.getUltimaSecuencia()).isEqualTo(3);
+        assertThat(seguidor.esperarSecuencia(3, Duration.ofSeconds(5))).isTrue();
+        assertThat(seguidor.findAll()).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Debería exponer el retraso y agotar la espera sin entradas nuevas")
+    void deberiaExponerRetrasoYAgotarEspera() throws InterruptedException {
+        // Arrange - seguidor conectado a un transporte que no entrega nada
+        TransporteReplicacion detenido = new TransporteReplicacion() {
+            @Override
+            public void publicar(long secuencia, byte[] entrada) {
+            }
+            
+            @Override
+            public void suscribir(java.util.function.Consumer<byte[]> receptor) {
+            }
+            
+            @Override
+            public long ultimaSecuenciaPublicada() {
+                return 7;
+            }
+        };
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(detenido);
+        
+        // Act & Assert
+        assertThat(seguidor.getRetraso()).isEqualTo(7);
+        assertThat(seguidor.esperarSecuencia(1, Duration.ofMillis(20))).isFalse();
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar escrituras y entradas fuera de orden")
+    void deberiaRechazarEscriturasYEntradasFueraDeOrden() {
+        // Arrange
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        byte[] fueraDeOrden = ByteBuffer.allocate(9).putLong(5).put(ReservaRepositoryLider.TIPO_ELIMINAR).array();
+        
+        // Act & Assert
+        assertThatThrownBy(() -> seguidor.save(new Reserva(cancha, fechaHora, "Juan")))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> seguidor.deleteById(1L))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> seguidor.aplicar(fueraDeOrden))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("fuera de orden");
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar en el líder una reserva no codificable sin romper la réplica")
+    void deberiaRechazarReservaNoCodificableSinRomperReplica() throws InterruptedException {
+        // Arrange
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        
+        // Act - el codec no admite segundos
+        assertThatThrownBy(() -> lider.save(new Reserva(cancha, fechaHora.withSecond(30), "Juan Pérez")))
+            .isInstanceOf(CodificacionException.class);
+        Reserva valida = lider.save(new Reserva(cancha, fechaHora, "María García"));
+        
+        // Assert - el líder no guardó la inválida y el seguidor se pone al día
+        assertThat(lider.findAll()).containsExactly(valida);
+        assertThat(seguidor.esperarSecuencia(lider.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        assertThat(seguidor.getRetraso()).isZero();
+        assertThat(seguidor.getFallo()).isEmpty();
+        assertThat(seguidor.findById(valida.getId())).isPresent();
+    }
+    
+    @Test
+    @DisplayName("Debería volver a publicar la definición de una cancha modificada")
+    void deberiaRepublicarCanchaModificada() throws InterruptedException {
+        // Arrange
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        lider.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        long tras1 = lider.getUltimaSecuencia();
+        lider.save(new Reserva(cancha, fechaHora.plusDays(1), "Ana"));
+        
+        // Act
+        cancha.setHorariosDisponibles(Arrays.asList(LocalTime.of(10, 0), LocalTime.of(12, 0)));
+        Reserva tras2 = lider.save(new Reserva(cancha, fechaHora.plusDays(2), "María García"));
+        
+        // Assert - la definición se publicó la primera vez y tras el cambio
+        assertThat(tras1).isEqualTo(2);
+        assertThat(lider.getUltimaSecuencia()).isEqualTo(5);
+        assertThat(seguidor.esperarSecuencia(lider.getUltimaSecuencia(), Duration.ofSeconds(5))).isTrue();
+        assertThat(seguidor.findById(tras2.getId()).orElseThrow().getCancha().getHorariosDisponibles())
+            .containsExactly(LocalTime.of(10, 0), LocalTime.of(12, 0));
+    }
+    
+    @Test
+    @DisplayName("Debería seguir entregando tras un receptor que falla y marcar la réplica como fallida")
+    void deberiaSeguirEntregandoTrasReceptorQueFalla() throws InterruptedException {
+        // Arrange - un receptor falla con la primera entrada
+        AtomicInteger recibidas = new AtomicInteger();
+        CountDownLatch dos = new CountDownLatch(2);
+        transporte.suscribir(entrada -> {
+            dos.countDown();
+            if (recibidas.incrementAndGet() == 1) {
+                throw new IllegalStateException("falla");
+            }
+        });
+        ReservaRepositorySeguidor seguidor = new ReservaRepositorySeguidor(transporte);
+        
+        // Act - una entrada corrupta seguida de una válida
+        transporte.publicar(1, ByteBuffer.allocate(9).putLong(1).put((byte) 99).array());
+        lider.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        
+        // Assert
+        assertThat(dos.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(seguidor.esperarSecuencia(1, Duration.ofSeconds(5))).isFalse();
+        assertThat(seguidor.getFallo()).hasValueSatisfying(
+            e -> assertThat(e).hasMessageContaining("desconocido"));
+        assertThat(seguidor.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,185 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@DisplayName("Tests para CatalogoCanchasEnMemoria")
+class CatalogoCanchasEnMemoriaTest {
+
+    private CatalogoCanchasEnMemoria catalogo;
+    private List<LocalTime> horarios;
+
+    @BeforeEach
+    void setUp() {
+        catalogo = new CatalogoCanchasEnMemoria();
+        horarios = Arrays.asList(LocalTime.of(9, 0), LocalTime.of(11, 0));
+    }
+
+    @Test
+    @DisplayName("Debería indexar canchas por nombre y tipo de deporte")
+    void deberiaIndexarPorNombreYTipo() {
+        // Arrange
+        Cancha futbol = catalogo.save(new Cancha("Cancha Futbol", TipoDeporte.FUTBOL, horarios));
+        Cancha tenis = catalogo.save(new Cancha("Cancha Tenis", TipoDeporte.TENIS, horarios));
+
+        // Act & Assert
+        assertThat(catalogo.findByNombre("Cancha Futbol")).contains(futbol);
+        assertThat(catalogo.findByNombre("Inexistente")).isEmpty();
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.TENIS)).containsExactly(tenis);
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.PADDLE)).isEmpty();
+        assertThat(catalogo.findAll()).containsExactly(futbol, tenis);
+    }
+
+    @Test
+    @DisplayName("Debería conservar el orden de registro y tolerar un tipo nulo")
+    void deberiaConservarOrdenDeRegistro() {
+        // Arrange - nombres cuyo orden de hash difiere del de registro
+        List<String> nombres = Arrays.asList("Zeta", "Alfa", "Mu", "Beta", "Omega", "Delta");
+        for (String nombre : nombres) {
+            catalogo.save(new Cancha(nombre, TipoDeporte.TENIS, horarios));
+        }
+
+        // Act - reemplazar no cambia la posición
+        catalogo.save(new Cancha("Mu", TipoDeporte.TENIS, horarios));
+
+        // Assert
+        assertThat(catalogo.findAll()).extracting(Cancha::getNombre).containsExactlyElementsOf(nombres);
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.TENIS))
+            .extracting(Cancha::getNombre).containsExactlyElementsOf(nombres);
+        assertThat(catalogo.findByTipoDeporte(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería reemplazar y eliminar canchas publicando una nueva instantánea")
+    void deberiaReemplazarYEliminar() {
+        // Arrange
+        catalogo.save(new Cancha("Cancha 1", TipoDeporte.FUTBOL, horarios));
+        List<Cancha> lecturaAnterior = catalogo.findAll();
+
+        // Act
+        Cancha reemplazo = catalogo.save(new Cancha("Cancha 1", TipoDeporte.VOLEIBOL, horarios));
+
+        // Assert - la lectura anterior no cambia y la nueva refleja el reemplazo
+        assertThat(lecturaAnterior).hasSize(1).extracting(Cancha::getTipoDeporte).containsExactly(TipoDeporte.FUTBOL);
+        assertThat(catalogo.findAll()).containsExactly(reemplazo);
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.FUTBOL)).isEmpty();
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.VOLEIBOL)).containsExactly(reemplazo);
+        assertThatThrownBy(() -> catalogo.findAll().add(reemplazo))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        // Act
+        catalogo.deleteByNombre("Cancha 1");
+        catalogo.deleteByNombre("Inexistente");
+
+        // Assert
+        assertThat(catalogo.findAll()).isEmpty();
+        assertThat(catalogo.findByNombre("Cancha 1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería publicar una sola instantánea al cargar canchas en bloque")
+    void deberiaPublicarUnaInstantaneaEnCargaMasiva() {
+        // Arrange
+        List<Cancha> nuevas = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            nuevas.add(new Cancha("Cancha " + i, TipoDeporte.values()[i % TipoDeporte.values().length], horarios));
+        }
+
+        // Act
+        List<Cancha> guardadas = catalogo.saveAll(nuevas);
+        List<Cancha> todas = catalogo.findAll();
+
+        // Assert - sin escrituras intermedias las lecturas comparten la instantánea
+        assertThat(guardadas).hasSize(1_000);
+        assertThat(todas).hasSize(1_000).first().extracting(Cancha::getNombre).isEqualTo("Cancha 0");
+        assertThat(catalogo.findAll()).isSameAs(todas);
+        assertThat(catalogo.findByNombre("Cancha 999")).isPresent();
+
+        // Act
+        catalogo.deleteByNombre("Cancha 0");
+
+        // Assert
+        assertThat(catalogo.findAll()).isNotSameAs(todas).hasSize(999);
+    }
+
+    @Test
+    @DisplayName("Debería leer sin bloquear mientras un escritor tiene el candado")
+    void deberiaLeerSinBloquearConEscritorActivo() throws Exception {
+        // Arrange
+        catalogo.save(new Cancha("Norte", TipoDeporte.FUTBOL, horarios));
+        catalogo.save(new Cancha("Sur", TipoDeporte.FUTBOL, horarios));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // Act - los escritores se serializan con el monitor del catálogo
+            synchronized (catalogo) {
+                Future<List<Cancha>> lectura = executor.submit(() -> {
+                    catalogo.findByNombre("Norte");
+                    return catalogo.findByTipoDeporte(TipoDeporte.FUTBOL);
+                });
+
+                // Assert
+                assertThat(lectura.get(5, TimeUnit.SECONDS)).extracting(Cancha::getNombre)
+                    .containsExactly("Norte", "Sur");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Debería ofrecer lecturas consistentes durante escrituras concurrentes")
+    void deberiaOfrecerLecturasConsistentes() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean inconsistente = new AtomicBoolean();
+
+        // Act - un escritor registra canchas mientras tres lectores consultan
+        executor.execute(() -> {
+            for (int i = 0; i < 500; i++) {
+                catalogo.save(new Cancha("Cancha " + i, TipoDeporte.values()[i % 5], horarios));
+            }
+        });
+        for (int l = 0; l < 3; l++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    int total = 0;
+                    for (TipoDeporte tipo : TipoDeporte.values()) {
+                        total += catalogo.findByTipoDeporte(tipo).size();
+                    }
+                    // Cada instantánea es un prefijo del orden de registro, y como
+                    // el escritor solo agrega, una lectura posterior no tiene menos canchas
+                    List<Cancha> todas = catalogo.findAll();
+                    for (int c = 0; c < todas.size(); c++) {
+                        if (!todas.get(c).getNombre().equals("Cancha " + c)) {
+                            inconsistente.set(true);
+                        }
+                    }
+                    if (total > todas.size()) {
+                        inconsistente.set(true);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(inconsistente).isFalse();
+        assertThat(catalogo.findAll()).hasSize(500);
+        assertThat(catalogo.findByTipoDeporte(TipoDeporte.FUTBOL)).hasSize(100);
+    }
+}
@@ -0,0 +1,129 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.assertj.core.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Comportamiento que {@code ReservaService} espera de cualquier
+ * {@link ReservaRepository}, ejecutado contra cada implementación.
+ */
+@DisplayName("Contrato de ReservaRepository")
+class ReservaRepositoryContratoTest {
+
+    private ReservaRepository repositorio;
+    private Cancha cancha;
+    private LocalDateTime fechaHora;
+
+    static Stream<Named<Supplier<ReservaRepository>>> repositorios() {
+        return Stream.of(
+            Named.of("En memoria", ReservaRepositoryEnMemoria::new),
+            Named.of("Fuera del heap", () -> new ReservaRepositoryFueraDeHeap(1)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        cancha = new Cancha("Cancha Test", TipoDeporte.FUTBOL,
+            Arrays.asList(LocalTime.of(10, 0)));
+        fechaHora = LocalDateTime.of(2024, 12, 15, 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (repositorio instanceof AutoCloseable cerrable) {
+            cerrable.close();
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositorios")
+    @DisplayName("Debería asignar ID y encontrar la reserva guardada por cada criterio")
+    void deberiaEncontrarReservaGuardada(Supplier<ReservaRepository> fabrica) {
+        // Arrange
+        repositorio = fabrica.get();
+
+        // Act
+        Reserva guardada = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+
+        // Assert
+        assertThat(guardada.getId()).isNotNull();
+        assertThat(repositorio.findById(guardada.getId())).get()
+            .extracting(Reserva::getNombreUsuario, Reserva::getFechaHora, Reserva::getEstado)
+            .containsExactly("Juan Pérez", fechaHora, EstadoReserva.ACTIVA);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora))
+            .extracting(Reserva::getId).containsExactly(guardada.getId());
+        assertThat(repositorio.findByFecha(LocalDate.of(2024, 12, 15)))
+            .extracting(Reserva::getId).containsExactly(guardada.getId());
+        assertThat(repositorio.findByEstado(EstadoReserva.ACTIVA))
+            .extracting(Reserva::getId).containsExactly(guardada.getId());
+        assertThat(repositorio.findByNombreUsuario("Juan Pérez"))
+            .extracting(Reserva::getId).containsExactly(guardada.getId());
+        assertThat(repositorio.findById(guardada.getId() + 1)).isEmpty();
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositorios")
+    @DisplayName("Debería conservar la fecha/hora exacta, con segundos y nanosegundos")
+    void deberiaConservarFechaHoraExacta(Supplier<ReservaRepository> fabrica) {
+        // Arrange
+        repositorio = fabrica.get();
+        LocalDateTime conSegundos = fechaHora.plusSeconds(30).plusNanos(500);
+
+        // Act
+        Reserva exacta = repositorio.save(new Reserva(cancha, conSegundos, "María García"));
+        Reserva enPunto = repositorio.save(new Reserva(cancha, fechaHora, "Pedro"));
+
+        // Assert
+        assertThat(repositorio.findById(exacta.getId()).orElseThrow().getFechaHora()).isEqualTo(conSegundos);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, conSegundos))
+            .extracting(Reserva::getId).containsExactly(exacta.getId());
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora))
+            .extracting(Reserva::getId).containsExactly(enPunto.getId());
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora.plusSeconds(30))).isEmpty();
+        assertThat(repositorio.findByRango(fechaHora, fechaHora.plusMinutes(1)))
+            .extracting(Reserva::getId).containsExactly(enPunto.getId(), exacta.getId());
+        assertThat(repositorio.findByRango(fechaHora.plusNanos(1), conSegundos)).isEmpty();
+        assertThat(repositorio.findByRango(conSegundos, conSegundos.plusNanos(1)))
+            .extracting(Reserva::getId).containsExactly(exacta.getId());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositorios")
+    @DisplayName("Debería reflejar los cambios guardados y olvidar las reservas eliminadas")
+    void deberiaReflejarCambiosGuardados(Supplier<ReservaRepository> fabrica) {
+        // Arrange
+        repositorio = fabrica.get();
+        Reserva reserva = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        Reserva otra = repositorio.save(new Reserva(cancha, fechaHora.plusHours(1), "Pedro"));
+
+        // Act - se modifica la instancia leída y se vuelve a guardar
+        Reserva leida = repositorio.findById(reserva.getId()).orElseThrow();
+        leida.setFechaHora(fechaHora.plusDays(1));
+        leida.cancelar();
+        repositorio.save(leida);
+        repositorio.deleteById(otra.getId());
+
+        // Assert
+        Reserva releida = repositorio.findById(reserva.getId()).orElseThrow();
+        assertThat(releida.getEstado()).isEqualTo(EstadoReserva.CANCELADA);
+        assertThat(releida.getFechaHora()).isEqualTo(fechaHora.plusDays(1));
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora)).isEmpty();
+        assertThat(repositorio.findByEstado(EstadoReserva.ACTIVA)).isEmpty();
+        assertThat(repositorio.findById(otra.getId())).isEmpty();
+        assertThat(repositorio.findAll()).extracting(Reserva::getId).containsExactly(reserva.getId());
+    }
+}
@@ -0,0 +1,122 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+@DisplayName("Tests para ReservaRepositoryEnMemoria")
+class ReservaRepositoryEnMemoriaTest {
+    
+    private ReservaRepositoryEnMemoria repositorio;
+    private Cancha cancha;
+    private LocalDateTime fechaHora;
+    
+    @BeforeEach
+    void setUp() {
+        repositorio = new ReservaRepositoryEnMemoria();
+        cancha = new Cancha("Cancha Test", TipoDeporte.FUTBOL, 
+            Arrays.asList(LocalTime.of(10, 0)));
+        fechaHora = LocalDateTime.of(2024, 12, 15, 10, 0);
+    }
+    
+    @Test
+    @DisplayName("Debería asignar ID y permitir buscar por los distintos criterios")
+    void deberiaAsignarIdYBuscarPorCriterios() {
+        // Act
+        Reserva guardada = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        
+        // Assert
+        assertThat(guardada.getId()).isNotNull();
+        assertThat(repositorio.findById(guardada.getId())).contains(guardada);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora)).containsExactly(guardada);
+        assertThat(repositorio.findByFecha(LocalDate.of(2024, 12, 15))).containsExactly(guardada);
+        assertThat(repositorio.findByEstado(EstadoReserva.ACTIVA)).containsExactly(guardada);
+        assertThat(repositorio.findAll()).hasSize(1);
+    }
+    
+    @Test
+    @DisplayName("Debería mantener el índice por usuario al modificar y eliminar")
+    void deberiaMantenerIndicePorUsuario() {
+        // Arrange
+        Reserva deJuan = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        Reserva deMaria = repositorio.save(new Reserva(cancha, fechaHora.plusHours(1), "María García"));
+        
+        // Act - la reserva cambia de titular
+        deMaria.setNombreUsuario("Juan Pérez");
+        repositorio.save(deMaria);
+        
+        // Assert
+        assertThat(repositorio.findByNombreUsuario("Juan Pérez")).containsExactlyInAnyOrder(deJuan, deMaria);
+        assertThat(repositorio.findByNombreUsuario("María García")).isEmpty();
+        
+        // Act
+        repositorio.deleteById(deJuan.getId());
+        
+        // Assert
+        assertThat(repositorio.findByNombreUsuario("Juan Pérez")).containsExactly(deMaria);
+        assertThat(repositorio.findById(deJuan.getId())).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Debería buscar por rango ordenado y mantener el índice temporal al modificar")
+    void deberiaBuscarPorRangoYMantenerIndiceTemporal() {
+        // Arrange
+        Reserva tarde = repositorio.save(new Reserva(cancha, fechaHora.plusHours(5), "Juan Pérez"));
+        Reserva conSegundos = repositorio.save(new Reserva(cancha, fechaHora.plusSeconds(30), "María García"));
+        Reserva manana = repositorio.save(new Reserva(cancha, fechaHora.plusDays(1), "Pedro"));
+        
+        // Act & Assert - [desde, hasta) y orden por fecha/hora
+        assertThat(repositorio.findByRango(fechaHora, fechaHora.plusDays(1)))
+            .containsExactly(conSegundos, tarde);
+        assertThat(repositorio.findByRango(fechaHora.plusSeconds(31), fechaHora.plusDays(2)))
+            .containsExactly(tarde, manana);
+        assertThat(repositorio.findByRango(fechaHora.plusDays(1), fechaHora)).isEmpty();
+        
+        // Act - la reserva cambia de día
+        tarde.setFechaHora(fechaHora.plusDays(1).plusHours(1));
+        repositorio.save(tarde);
+        repositorio.deleteById(manana.getId());
+        
+        // Assert
+        assertThat(repositorio.findByFecha(LocalDate.of(2024, 12, 15))).containsExactly(conSegundos);
+        assertThat(repositorio.findByFecha(LocalDate.of(2024, 12, 16))).containsExactly(tarde);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora.plusDays(1).plusHours(1)))
+            .containsExactly(tarde);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora)).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("Debería construir los índices en la primera consulta aunque se escribiera antes")
+    void deberiaConstruirIndicesEnPrimeraConsulta() {
+        // Arrange - escrituras antes de cualquier consulta
+        Reserva movida = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        Reserva eliminada = repositorio.save(new Reserva(cancha, fechaHora, "María García"));
+        movida.setFechaHora(fechaHora.plusHours(2));
+        movida.setNombreUsuario("Pedro");
+        repositorio.save(movida);
+        repositorio.deleteById(eliminada.getId());
+        
+        // Act & Assert
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora)).isEmpty();
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora.plusHours(2))).containsExactly(movida);
+        assertThat(repositorio.findByNombreUsuario("Juan Pérez")).isEmpty();
+        assertThat(repositorio.findByNombreUsuario("Pedro")).containsExactly(movida);
+        
+        // Act - desde aquí los índices se mantienen en cada escritura
+        Reserva nueva = repositorio.save(new Reserva(cancha, fechaHora, "Pedro"));
+        repositorio.deleteById(movida.getId());
+        
+        // Assert
+        assertThat(repositorio.findByRango(fechaHora, fechaHora.plusDays(1))).containsExactly(nueva);
+        assertThat(repositorio.findByNombreUsuario("Pedro")).containsExactly(nueva);
+    }
+}
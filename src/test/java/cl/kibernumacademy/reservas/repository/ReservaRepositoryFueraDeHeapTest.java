@@ -0,0 +1,226 @@
+package cl.kibernumacademy.reservas.repository;
+
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.EstadoReserva;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+@DisplayName("Tests para ReservaRepositoryFueraDeHeap")
+class ReservaRepositoryFueraDeHeapTest {
+
+    private ReservaRepositoryFueraDeHeap repositorio;
+    private Cancha cancha;
+    private LocalDateTime fechaHora;
+
+    @BeforeEach
+    void setUp() {
+        // Capacidad mínima para ejercitar el crecimiento de registros e índices
+        repositorio = new ReservaRepositoryFueraDeHeap(1);
+        cancha = new Cancha("Cancha Test", TipoDeporte.FUTBOL,
+            Arrays.asList(LocalTime.of(10, 0)));
+        fechaHora = LocalDateTime.of(2024, 12, 15, 10, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repositorio.close();
+    }
+
+    @Test
+    @DisplayName("Debería asignar ID y devolver copias buscando por los distintos criterios")
+    void deberiaAsignarIdYBuscarPorCriterios() {
+        // Act
+        Reserva guardada = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        Reserva otra = repositorio.save(new Reserva(cancha, fechaHora.plusDays(1), "María García"));
+
+        // Assert
+        Reserva leida = repositorio.findById(guardada.getId()).orElseThrow();
+        assertThat(leida).isNotSameAs(guardada);
+        assertThat(leida.getCancha()).isSameAs(cancha);
+        assertThat(leida.getFechaHora()).isEqualTo(fechaHora);
+        assertThat(leida.getNombreUsuario()).isEqualTo("Juan Pérez");
+        assertThat(leida.getEstado()).isEqualTo(EstadoReserva.ACTIVA);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora))
+            .extracting(Reserva::getId).containsExactly(guardada.getId());
+        assertThat(repositorio.findByFecha(LocalDate.of(2024, 12, 16)))
+            .extracting(Reserva::getId).containsExactly(otra.getId());
+        assertThat(repositorio.findByNombreUsuario("María García"))
+            .extracting(Reserva::getId).containsExactly(otra.getId());
+        assertThat(repositorio.findByEstado(EstadoReserva.ACTIVA)).hasSize(2);
+        assertThat(repositorio.findAll()).hasSize(2);
+        assertThat(repositorio.findByNombreUsuario("Nadie")).isEmpty();
+        assertThat(repositorio.findByCanchaAndFechaHora(new Cancha("Otra", TipoDeporte.TENIS, null), fechaHora)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería mover la reserva entre franjas al modificarla y reutilizar huecos al eliminar")
+    void deberiaMoverEntreFranjasYReutilizarHuecos() {
+        // Arrange
+        Reserva cancelada = new Reserva(cancha, fechaHora, "Juan Pérez");
+        cancelada.cancelar();
+        repositorio.save(cancelada);
+        Reserva reserva = repositorio.save(new Reserva(cancha, fechaHora, "María García"));
+
+        // Act
+        reserva.setFechaHora(fechaHora.plusHours(2));
+        reserva.cancelar();
+        repositorio.save(reserva);
+
+        // Assert
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora))
+            .extracting(Reserva::getId).containsExactly(cancelada.getId());
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora.plusHours(2)))
+            .extracting(Reserva::getEstado).containsExactly(EstadoReserva.CANCELADA);
+
+        // Act
+        long bytes = repositorio.getBytesFueraDeHeap();
+        repositorio.deleteById(cancelada.getId());
+        repositorio.save(new Reserva(cancha, fechaHora, "Pedro"));
+
+        // Assert
+        assertThat(repositorio.findById(cancelada.getId())).isEmpty();
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora))
+            .extracting(Reserva::getNombreUsuario).containsExactly("Pedro");
+        assertThat(repositorio.getBytesFueraDeHeap()).isEqualTo(bytes);
+    }
+
+    @Test
+    @DisplayName("Debería conservar campos nulos y fechas con segundos")
+    void deberiaConservarNulosYSegundos() {
+        // Arrange
+        Reserva vacia = new Reserva();
+        vacia.setEstado(null);
+
+        // Act
+        Reserva guardada = repositorio.save(vacia);
+
+        // Assert
+        Reserva leida = repositorio.findById(guardada.getId()).orElseThrow();
+        assertThat(leida.getCancha()).isNull();
+        assertThat(leida.getFechaHora()).isNull();
+        assertThat(leida.getNombreUsuario()).isNull();
+        assertThat(leida.getEstado()).isNull();
+        LocalDateTime conSegundos = fechaHora.withSecond(30).withNano(123_456_789);
+        Reserva exacta = repositorio.save(new Reserva(cancha, conSegundos, "Juan"));
+        assertThat(repositorio.findById(exacta.getId()).orElseThrow().getFechaHora()).isEqualTo(conSegundos);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, conSegundos)).hasSize(1);
+        assertThat(repositorio.findByCanchaAndFechaHora(cancha, fechaHora)).isEmpty();
+        assertThat(repositorio.findByRango(conSegundos, conSegundos.plusNanos(1))).hasSize(1);
+        assertThat(repositorio.findByRango(fechaHora, conSegundos)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debería coincidir con el repositorio en memoria ante operaciones aleatorias")
+    void deberiaCoincidirConRepositorioEnMemoria() {
+        // Arrange
+        ReservaRepositoryEnMemoria referencia = new ReservaRepositoryEnMemoria();
+        Map<Long, Reserva> copias = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 5_000; i++) {
+            int operacion = random.nextInt(10);
+            if (operacion < 2 && !copias.isEmpty()) {
+                Long id = (long) (1 + random.nextInt(i));
+                referencia.deleteById(id);
+                repositorio.deleteById(id);
+                copias.remove(id);
+            } else if (operacion < 5 && !copias.isEmpty()) {
+                Reserva reserva = referencia.findById((long) (1 + random.nextInt(i))).orElse(null);
+                if (reserva != null) {
+                    reserva.setFechaHora(fechaHora.plusHours(random.nextInt(48)));
+                    if (random.nextBoolean()) {
+                        reserva.cancelar();
+                    }
+                    referencia.save(reserva);
+                    repositorio.save(copiar(reserva));
+                }
+            } else {
+                Reserva reserva = referencia.save(
+                    new Reserva(cancha, fechaHora.plusHours(random.nextInt(48)), "Usuario " + random.nextInt(20)));
+                repositorio.save(copiar(reserva));
+                copias.put(reserva.getId(), reserva);
+            }
+        }
+
+        // Assert
+        assertThat(repositorio.findAll()).hasSameSizeAs(referencia.findAll());
+        for (int hora = 0; hora < 48; hora++) {
+            LocalDateTime franja = fechaHora.plusHours(hora);
+            assertThat(repositorio.findByCanchaAndFechaHora(cancha, franja))
+                .extracting(Reserva::getId)
+                .containsExactlyInAnyOrderElementsOf(
+                    referencia.findByCanchaAndFechaHora(cancha, franja).stream().map(Reserva::getId).toList());
+        }
+        for (EstadoReserva estado : EstadoReserva.values()) {
+            assertThat(repositorio.findByEstado(estado))
+                .extracting(Reserva::getId)
+                .containsExactlyInAnyOrderElementsOf(
+                    referencia.findByEstado(estado).stream().map(Reserva::getId).toList());
+        }
+        for (int usuario = 0; usuario < 20; usuario++) {
+            assertThat(repositorio.findByNombreUsuario("Usuario " + usuario))
+                .extracting(Reserva::getId)
+                .containsExactlyInAnyOrderElementsOf(
+                    referencia.findByNombreUsuario("Usuario " + usuario).stream().map(Reserva::getId).toList());
+        }
+        // Más días que registros: se resuelve recorriendo los registros
+        assertThat(repositorio.findByRango(fechaHora.minusYears(20), fechaHora.plusYears(20)))
+            .extracting(Reserva::getId)
+            .containsExactlyElementsOf(referencia.findAll().stream()
+                .sorted(Comparator.comparing(Reserva::getFechaHora).thenComparing(Reserva::getId))
+                .map(Reserva::getId).toList());
+        for (int desde = 0; desde < 48; desde += 7) {
+            LocalDateTime inicio = fechaHora.plusHours(desde).minusSeconds(1);
+            LocalDateTime fin = fechaHora.plusHours(desde + 11);
+            assertThat(repositorio.findByRango(inicio, fin))
+                .extracting(Reserva::getId)
+                .containsExactlyElementsOf(referencia.findByRango(inicio, fin).stream().map(Reserva::getId).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Debería rechazar una capacidad inicial que no cabe en un buffer")
+    void deberiaRechazarCapacidadExcesiva() {
+        // Act & Assert
+        assertThatThrownBy(() -> new ReservaRepositoryFueraDeHeap(Integer.MAX_VALUE / 16))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("excede el máximo");
+    }
+
+    @Test
+    @DisplayName("Debería rechazar operaciones después de cerrarse")
+    void deberiaRechazarOperacionesDespuesDeCerrarse() {
+        // Arrange
+        repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+
+        // Act
+        repositorio.close();
+        repositorio.close();
+
+        // Assert
+        assertThatThrownBy(() -> repositorio.findAll()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repositorio.save(new Reserva(cancha, fechaHora, "Juan")))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Reserva copiar(Reserva original) {
+        Reserva copia = new Reserva(original.getCancha(), original.getFechaHora(), original.getNombreUsuario());
+        copia.setId(original.getId());
+        copia.setEstado(original.getEstado());
+        return copia;
+    }
+}
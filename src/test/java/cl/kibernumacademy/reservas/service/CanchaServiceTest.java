@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
@@ -141,4 +142,28 @@ class CanchaServiceTest {
         // Verify
         verify(canchaRepository, times(1)).findAll();
     }
+    
+    @Test
+    @DisplayName("Debería reutilizar la consulta por tipo hasta que se registre una cancha de ese tipo")
+    void deberiaReutilizarConsultaPorTipoHastaRegistrar() {
+        // Arrange
+        CanchaService servicioCoalescido = new CanchaService(canchaRepository, Duration.ofMinutes(1));
+        Cancha cancha = new Cancha("Cancha Tenis", TipoDeporte.TENIS, horarios);
+        when(canchaRepository.findByTipoDeporte(TipoDeporte.TENIS)).thenReturn(Arrays.asList(cancha));
+        when(canchaRepository.findByNombre("Cancha Fútbol")).thenReturn(Optional.empty());
+        
+        // Act
+        servicioCoalescido.obtenerPorTipoDeporte(TipoDeporte.TENIS);
+        servicioCoalescido.registrarCancha("Cancha Fútbol", TipoDeporte.FUTBOL, horarios);
+        List<Cancha> resultado = servicioCoalescido.obtenerPorTipoDeporte(TipoDeporte.TENIS);
+        servicioCoalescido.registrarCancha("Cancha Tenis", TipoDeporte.TENIS, horarios);
+        servicioCoalescido.obtenerPorTipoDeporte(TipoDeporte.TENIS);
+        
+        // Assert
+        assertThat(resultado).containsExactly(cancha);
+        assertThatThrownBy(() -> resultado.clear()).isInstanceOf(UnsupportedOperationException.class);
+        
+        // Verify - registrar otro deporte no invalida TENIS
+        verify(canchaRepository, times(2)).findByTipoDeporte(TipoDeporte.TENIS);
+    }
 }
@@ -0,0 +1,130 @@
+package cl.kibernumacademy.reservas.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@DisplayName("Tests para ConsultasCoalescidas")
+class ConsultasCoalescidasTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    @DisplayName("Debería ejecutar un solo cálculo para consultas concurrentes idénticas")
+    void deberiaCoalescerConsultasConcurrentes() throws Exception {
+        // Arrange
+        ConsultasCoalescidas<String, Integer> consultas = new ConsultasCoalescidas<>(Duration.ZERO);
+        CountDownLatch calculando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Integer>> resultados = new ArrayList<>();
+        resultados.add(executor.submit(() -> consultas.obtener("franja", () -> {
+            calculando.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ejecuciones.incrementAndGet();
+        })));
+        calculando.await();
+        for (int i = 0; i < 7; i++) {
+            resultados.add(executor.submit(() -> consultas.obtener("franja", ejecuciones::incrementAndGet)));
+        }
+        // Las siete consultas quedan esperando el cálculo en curso
+        Thread.sleep(50);
+        liberar.countDown();
+
+        // Assert
+        for (Future<Integer> resultado : resultados) {
+            assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        assertThat(consultas.getCalculos()).isEqualTo(1);
+        executor.shutdown();
+
+        // Con TTL cero el resultado no se conserva
+        assertThat(consultas.obtener("franja", ejecuciones::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debería conservar el resultado durante el TTL salvo que se invalide")
+    void deberiaConservarResultadoDuranteTtl() {
+        // Arrange
+        ConsultasCoalescidas<String, Integer> consultas =
+            new ConsultasCoalescidas<>(Duration.ofMillis(100), reloj::get);
+        AtomicInteger ejecuciones = new AtomicInteger();
+
+        // Act & Assert
+        assertThat(consultas.obtener("a", ejecuciones::incrementAndGet)).isEqualTo(1);
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+        assertThat(consultas.obtener("a", ejecuciones::incrementAndGet)).isEqualTo(1);
+        assertThat(consultas.obtener("b", ejecuciones::incrementAndGet)).isEqualTo(2);
+
+        reloj.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(consultas.obtener("a", ejecuciones::incrementAndGet)).isEqualTo(3);
+
+        consultas.invalidar("b");
+        assertThat(consultas.obtener("b", ejecuciones::incrementAndGet)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Debería no cachear un cálculo en curso invalidado ni un error")
+    void deberiaNoCachearCalculoInvalidadoNiError() {
+        // Arrange
+        ConsultasCoalescidas<String, Integer> consultas =
+            new ConsultasCoalescidas<>(Duration.ofSeconds(1), reloj::get);
+
+        // Act - una escritura invalida la clave mientras se calcula
+        int valor = consultas.obtener("a", () -> {
+            consultas.invalidar("a");
+            return 1;
+        });
+
+        // Assert
+        assertThat(valor).isEqualTo(1);
+        assertThat(consultas.obtener("a", () -> 2)).isEqualTo(2);
+        assertThatThrownBy(() -> consultas.obtener("c", () -> {
+            throw new IllegalStateException("falla");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(consultas.obtener("c", () -> 3)).isEqualTo(3);
+        assertThatThrownBy(() -> new ConsultasCoalescidas<>(Duration.ofMillis(-1)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debería purgar entradas vencidas como máximo una vez por intervalo")
+    void deberiaPurgarUnaVezPorIntervalo() {
+        // Arrange
+        ConsultasCoalescidas<Integer, Integer> consultas =
+            new ConsultasCoalescidas<>(Duration.ZERO, reloj::get);
+        int claves = ConsultasCoalescidas.UMBRAL_PURGA + 1;
+
+        // Act - con TTL cero todas quedan vencidas, pero el intervalo no pasó
+        for (int i = 0; i < claves; i++) {
+            consultas.obtener(i, () -> 0);
+        }
+
+        // Assert
+        assertThat(consultas.entradasRetenidas()).isEqualTo(claves);
+
+        // Act - vencido el intervalo, la siguiente consulta purga
+        reloj.addAndGet(ConsultasCoalescidas.INTERVALO_PURGA_NANOS);
+        consultas.obtener(claves, () -> 0);
+
+        // Assert
+        assertThat(consultas.entradasRetenidas()).isZero();
+    }
+}
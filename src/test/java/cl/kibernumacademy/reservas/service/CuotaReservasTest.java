@@ -0,0 +1,187 @@
+package cl.kibernumacademy.reservas.service;
+
+import cl.kibernumacademy.reservas.exception.CuotaExcedidaException;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("Tests para CuotaReservas")
+class CuotaReservasTest {
+    
+    // 16/12/2024 es lunes
+    private final LocalDateTime lunes = LocalDateTime.of(2024, 12, 16, 10, 0);
+    
+    @Test
+    @DisplayName("Debería rechazar reservas sobre el máximo semanal")
+    void deberiaRechazarReservasSobreMaximoSemanal() {
+        // Arrange
+        CuotaReservas cuota = new CuotaReservas(2);
+        cuota.adquirir("Juan", lunes);
+        cuota.adquirir("Juan", lunes.plusDays(6));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> cuota.adquirir("Juan", lunes.plusDays(3)))
+            .isInstanceOf(CuotaExcedidaException.class)
+            .hasMessageContaining("máximo de 2");
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isEqualTo(2);
+        
+        // La semana siguiente y otros usuarios tienen su propio contador
+        cuota.adquirir("Juan", lunes.plusDays(7));
+        cuota.adquirir("María", lunes);
+    }
+    
+    @Test
+    @DisplayName("Debería liberar y trasladar cuota entre semanas")
+    void deberiaLiberarYTrasladarCuota() {
+        // Arrange
+        CuotaReservas cuota = new CuotaReservas(1);
+        cuota.adquirir("Juan", lunes);
+        
+        // Act - mismo día de la semana no cambia el contador
+        cuota.trasladar("Juan", lunes, lunes.plusDays(2));
+        cuota.trasladar("Juan", lunes, lunes.plusDays(7));
+        
+        // Assert
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isZero();
+        assertThat(cuota.reservasEnSemana("Juan", lunes.plusDays(7))).isEqualTo(1);
+        
+        // Act
+        cuota.liberar("Juan", lunes.plusDays(7));
+        
+        // Assert
+        assertThat(cuota.reservasEnSemana("Juan", lunes.plusDays(7))).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería inicializarse solo con reservas activas existentes")
+    void deberiaInicializarseConReservasActivas() {
+        // Arrange
+        Cancha cancha = new Cancha("Cancha Test", TipoDeporte.TENIS, Arrays.asList());
+        Reserva activa = new Reserva(cancha, lunes, "Juan");
+        Reserva cancelada = new Reserva(cancha, lunes.plusHours(1), "Juan");
+        cancelada.cancelar();
+        CuotaReservas cuota = new CuotaReservas(3);
+        
+        // Act
+        cuota.registrarExistentes(List.of(activa, cancelada));
+        
+        // Assert
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isEqualTo(1);
+    }
+    
+    @Test
+    @DisplayName("Debería cargar una sola vez las reservas existentes de cada usuario")
+    void deberiaCargarUsuarioUnaVez() {
+        // Arrange
+        Cancha cancha = new Cancha("Cancha Test", TipoDeporte.TENIS, Arrays.asList());
+        CuotaReservas cuota = new CuotaReservas(2);
+        AtomicInteger cargas = new AtomicInteger();
+        
+        // Act
+        for (int i = 0; i < 3; i++) {
+            cuota.cargarUsuario("Juan", usuario -> {
+                cargas.incrementAndGet();
+                return List.of(new Reserva(cancha, lunes, usuario), new Reserva(cancha, lunes.plusDays(1), usuario));
+            });
+        }
+        
+        // Assert
+        assertThat(cargas.get()).isEqualTo(1);
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isEqualTo(2);
+        assertThatThrownBy(() -> cuota.adquirir("Juan", lunes.plusDays(2)))
+            .isInstanceOf(CuotaExcedidaException.class);
+    }
+    
+    @Test
+    @DisplayName("Debería purgar los contadores de semanas terminadas")
+    void deberiaPurgarSemanasTerminadas() {
+        // Arrange
+        AtomicReference<Instant> ahora = new AtomicReference<>(lunes.toInstant(ZoneOffset.UTC));
+        Clock reloj = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+            
+            @Override
+            public Clock withZone(ZoneId zona) {
+                throw new UnsupportedOperationException();
+            }
+            
+            @Override
+            public Instant instant() {
+                return ahora.get();
+            }
+        };
+        CuotaReservas cuota = new CuotaReservas(2, reloj);
+        cuota.adquirir("Juan", lunes);
+        cuota.adquirir("María", lunes.plusDays(7));
+        
+        // Act - en la misma semana no se purga nada
+        cuota.adquirir("Pedro", lunes.plusDays(6));
+        
+        // Assert
+        assertThat(cuota.semanasRastreadas()).isEqualTo(3);
+        
+        // Act - la semana siguiente descarta las semanas terminadas
+        ahora.set(lunes.plusDays(7).toInstant(ZoneOffset.UTC));
+        cuota.adquirir("María", lunes.plusDays(8));
+        
+        // Assert
+        assertThat(cuota.semanasRastreadas()).isEqualTo(1);
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isZero();
+        assertThat(cuota.reservasEnSemana("María", lunes.plusDays(7))).isEqualTo(2);
+    }
+    
+    @Test
+    @DisplayName("Debería respetar el máximo bajo concurrencia")
+    void deberiaRespetarMaximoBajoConcurrencia() throws InterruptedException {
+        // Arrange
+        CuotaReservas cuota = new CuotaReservas(5);
+        AtomicInteger aceptadas = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        // Act
+        for (int i = 0; i < 200; i++) {
+            executor.execute(() -> {
+                try {
+                    cuota.adquirir("Juan", lunes);
+                    aceptadas.incrementAndGet();
+                } catch (CuotaExcedidaException e) {
+                    // esperado para las solicitudes sobre el máximo
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        
+        // Assert
+        assertThat(aceptadas.get()).isEqualTo(5);
+        assertThat(cuota.reservasEnSemana("Juan", lunes)).isEqualTo(5);
+    }
+    
+    @Test
+    @DisplayName("Debería validar el máximo y no contar sin límite")
+    void deberiaValidarMaximo() {
+        assertThatThrownBy(() -> new CuotaReservas(0)).isInstanceOf(IllegalArgumentException.class);
+        
+        CuotaReservas sinLimite = CuotaReservas.sinLimite();
+        sinLimite.adquirir("Juan", lunes);
+        assertThat(sinLimite.reservasEnSemana("Juan", lunes)).isZero();
+    }
+}
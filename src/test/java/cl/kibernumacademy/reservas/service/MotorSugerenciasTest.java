@@ -0,0 +1,164 @@
+package cl.kibernumacademy.reservas.service;
+
+import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.model.AlternativaReserva;
+import cl.kibernumacademy.reservas.model.Cancha;
+import cl.kibernumacademy.reservas.model.Reserva;
+import cl.kibernumacademy.reservas.model.TipoDeporte;
+import cl.kibernumacademy.reservas.repository.CatalogoCanchasEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.assertj.core.api.Assertions.*;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@DisplayName("Tests para MotorSugerencias")
+class MotorSugerenciasTest {
+
+    private final LocalDateTime solicitada = LocalDateTime.of(2024, 12, 16, 10, 0);
+    // Una semana antes de la fecha solicitada: ningún horario del día ya pasó
+    private final Clock reloj = Clock.fixed(solicitada.minusDays(7).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    private ReservaRepositoryEnMemoria reservaRepository;
+    private CatalogoCanchasEnMemoria canchaRepository;
+    private Cancha norte;
+    private Cancha sur;
+
+    @BeforeEach
+    void setUp() {
+        reservaRepository = new ReservaRepositoryEnMemoria();
+        canchaRepository = new CatalogoCanchasEnMemoria();
+        norte = new Cancha("Norte", TipoDeporte.TENIS,
+            Arrays.asList(LocalTime.of(8, 0), LocalTime.of(9, 0), LocalTime.of(10, 0), LocalTime.of(12, 0)));
+        sur = new Cancha("Sur", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(10, 0)));
+        canchaRepository.save(norte);
+        canchaRepository.save(sur);
+        canchaRepository.save(new Cancha("Este", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(11, 0))));
+        canchaRepository.save(new Cancha("Estadio", TipoDeporte.FUTBOL, Arrays.asList(LocalTime.of(10, 0))));
+    }
+
+    @Test
+    @DisplayName("Debería ordenar alternativas por cercanía y excluir franjas ocupadas")
+    void deberiaOrdenarAlternativasPorCercania() {
+        // Arrange
+        reservaRepository.save(new Reserva(norte, solicitada, "Juan"));
+        reservaRepository.save(new Reserva(norte, solicitada.withHour(9), "María"));
+        MotorSugerencias motor = new MotorSugerencias(reservaRepository, canchaRepository, 5, reloj);
+
+        // Act
+        List<AlternativaReserva> alternativas = motor.sugerir(norte, solicitada);
+
+        // Assert - Sur a la misma hora, luego Norte a las 8:00 y 12:00 (a igual distancia)
+        assertThat(alternativas)
+            .extracting(a -> a.getCancha().getNombre() + "@" + a.getFechaHora().toLocalTime())
+            .containsExactly("Sur@10:00", "Norte@08:00", "Norte@12:00");
+        assertThat(alternativas.get(0).isMismaCancha()).isFalse();
+        assertThat(alternativas.get(1).getMinutosDeDiferencia()).isEqualTo(120);
+    }
+
+    @Test
+    @DisplayName("Debería ignorar reservas canceladas y respetar el máximo")
+    void deberiaIgnorarCanceladasYRespetarMaximo() {
+        // Arrange
+        Reserva cancelada = new Reserva(sur, solicitada, "Juan");
+        cancelada.cancelar();
+        reservaRepository.save(cancelada);
+        reservaRepository.save(new Reserva(norte, solicitada.withHour(9), "María"));
+        MotorSugerencias motor = new MotorSugerencias(reservaRepository, canchaRepository, 1, reloj);
+
+        // Act
+        List<AlternativaReserva> alternativas = motor.sugerir(norte, solicitada);
+
+        // Assert
+        assertThat(alternativas).hasSize(1);
+        assertThat(alternativas.get(0).getCancha()).isSameAs(sur);
+    }
+
+    @Test
+    @DisplayName("Debería adjuntar alternativas al rechazar una reserva")
+    void deberiaAdjuntarAlternativasAlRechazar() {
+        // Arrange
+        ReservaService reservaService = new ReservaService(reservaRepository, CuotaReservas.sinLimite(),
+            new MotorSugerencias(reservaRepository, canchaRepository, 3, reloj));
+        reservaService.crearReserva(norte, solicitada, "Juan");
+
+        // Act & Assert
+        assertThatThrownBy(() -> reservaService.crearReserva(norte, solicitada, "María"))
+            .isInstanceOfSatisfying(CanchaNoDisponibleException.class, e ->
+                assertThat(e.getAlternativas())
+                    .extracting(AlternativaReserva::getCancha)
+                    .containsExactly(sur, norte, norte));
+    }
+
+    @Test
+    @DisplayName("Debería sugerir sin retener la franja y también al rechazar una modificación")
+    void deberiaSugerirFueraDelCandadoYAlModificar() {
+        // Arrange - mientras se sugiere, otra solicitud a la misma franja no debe quedar bloqueada
+        ExecutorService otroHilo = Executors.newSingleThreadExecutor();
+        AtomicBoolean primera = new AtomicBoolean(true);
+        AtomicReference<ReservaService> servicio = new AtomicReference<>();
+        MotorSugerencias motor = new MotorSugerencias(reservaRepository, canchaRepository, 3, reloj) {
+            @Override
+            public List<AlternativaReserva> sugerir(Cancha cancha, LocalDateTime fechaHora) {
+                if (primera.getAndSet(false)) {
+                    Future<Reserva> concurrente = otroHilo.submit(
+                        () -> servicio.get().crearReserva(cancha, fechaHora, "Pedro"));
+                    assertThatThrownBy(() -> concurrente.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(CanchaNoDisponibleException.class);
+                }
+                return super.sugerir(cancha, fechaHora);
+            }
+        };
+        servicio.set(new ReservaService(reservaRepository, CuotaReservas.sinLimite(), motor));
+        servicio.get().crearReserva(norte, solicitada, "Juan");
+        Reserva movible = servicio.get().crearReserva(norte, solicitada.withHour(12), "Ana");
+
+        try {
+            // Act & Assert
+            assertThatThrownBy(() -> servicio.get().crearReserva(norte, solicitada, "María"))
+                .isInstanceOf(CanchaNoDisponibleException.class);
+            assertThatThrownBy(() -> servicio.get().modificarReserva(movible.getId(), solicitada))
+                .isInstanceOfSatisfying(CanchaNoDisponibleException.class, e ->
+                    assertThat(e.getAlternativas())
+                        .extracting(a -> a.getCancha().getNombre() + "@" + a.getFechaHora().toLocalTime())
+                        .containsExactly("Sur@10:00", "Norte@09:00", "Norte@08:00"));
+        } finally {
+            otroHilo.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("No debería sugerir horarios que ya pasaron")
+    void noDeberiaSugerirHorariosPasados() {
+        // Arrange - son las 9:30 del día solicitado
+        Clock nueveYMedia = Clock.fixed(solicitada.withHour(9).withMinute(30).toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        MotorSugerencias motor = new MotorSugerencias(reservaRepository, canchaRepository, 5, nueveYMedia);
+
+        // Act & Assert - se descartan Norte a las 8:00 y 9:00
+        assertThat(motor.sugerir(norte, solicitada))
+            .extracting(a -> a.getCancha().getNombre() + "@" + a.getFechaHora().toLocalTime())
+            .containsExactly("Sur@10:00", "Norte@12:00");
+        assertThat(motor.sugerir(norte, solicitada.withHour(9)))
+            .extracting(a -> a.getFechaHora().toLocalTime())
+            .containsExactly(LocalTime.of(10, 0), LocalTime.of(12, 0));
+    }
+
+    @Test
+    @DisplayName("Debería rechazar un máximo de alternativas no positivo")
+    void deberiaRechazarMaximoNoPositivo() {
+        assertThatThrownBy(() -> new MotorSugerencias(reservaRepository, canchaRepository, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
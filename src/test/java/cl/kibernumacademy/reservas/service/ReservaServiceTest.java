@@ -5,7 +5,10 @@ import cl.kibernumacademy.reservas.model.Reserva;
 import cl.kibernumacademy.reservas.model.TipoDeporte;
 import cl.kibernumacademy.reservas.model.EstadoReserva;
 import cl.kibernumacademy.reservas.repository.ReservaRepository;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryEnMemoria;
+import cl.kibernumacademy.reservas.repository.ReservaRepositoryFueraDeHeap;
 import cl.kibernumacademy.reservas.exception.CanchaNoDisponibleException;
+import cl.kibernumacademy.reservas.exception.CuotaExcedidaException;
 import cl.kibernumacademy.reservas.exception.ReservaNoEncontradaException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +18,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("Tests para ReservaService")
@@ -110,6 +119,31 @@ class ReservaServiceTest {
         verify(reservaRepository, times(1)).save(reservaExistente);
     }
     
+    @Test
+    @DisplayName("Debería rechazar modificación hacia un horario ocupado")
+    void deberiaRechazarModificacionHaciaHorarioOcupado() {
+        // Arrange
+        Long id = 1L;
+        LocalDateTime nuevaFechaHora = LocalDateTime.of(2024, 12, 16, 14, 0);
+        Reserva reservaExistente = new Reserva(cancha, fechaHora, "Juan Pérez");
+        reservaExistente.setId(id);
+        Reserva reservaOcupante = new Reserva(cancha, nuevaFechaHora, "María García");
+        reservaOcupante.setId(2L);
+        
+        when(reservaRepository.findById(id)).thenReturn(Optional.of(reservaExistente));
+        when(reservaRepository.findByCanchaAndFechaHora(cancha, nuevaFechaHora))
+            .thenReturn(Arrays.asList(reservaOcupante));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> 
+            reservaService.modificarReserva(id, nuevaFechaHora))
+            .isInstanceOf(CanchaNoDisponibleException.class);
+        assertThat(reservaExistente.getFechaHora()).isEqualTo(fechaHora);
+        
+        // Verify
+        verify(reservaRepository, never()).save(any(Reserva.class));
+    }
+    
     @Test
     @DisplayName("Debería lanzar excepción al modificar reserva inexistente")
     void deberiaLanzarExcepcionAlModificarReservaInexistente() {
@@ -213,4 +247,280 @@ class ReservaServiceTest {
         // Verify
         verify(reservaRepository, times(1)).findByEstado(EstadoReserva.ACTIVA);
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Debería obtener reservas de un usuario")
+    void deberiaObtenerReservasDeUsuario() {
+        // Arrange
+        List<Reserva> reservasUsuario = Arrays.asList(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        
+        when(reservaRepository.findByNombreUsuario("Juan Pérez")).thenReturn(reservasUsuario);
+        
+        // Act
+        List<Reserva> resultado = reservaService.obtenerReservasDeUsuario("Juan Pérez");
+        
+        // Assert
+        assertThat(resultado).containsExactlyElementsOf(reservasUsuario);
+        
+        // Verify
+        verify(reservaRepository, times(1)).findByNombreUsuario("Juan Pérez");
+    }
+    
+    @Test
+    @DisplayName("Debería rechazar reserva cuando el usuario excede su cuota semanal")
+    void deberiaRechazarReservaCuandoUsuarioExcedeCuota() {
+        // Arrange
+        CuotaReservas cuota = new CuotaReservas(1);
+        ReservaService servicioConCuota = new ReservaService(reservaRepository, cuota);
+        
+        when(reservaRepository.findByCanchaAndFechaHora(eq(cancha), any(LocalDateTime.class)))
+            .thenReturn(Arrays.asList());
+        when(reservaRepository.save(any(Reserva.class))).thenAnswer(inv -> inv.getArgument(0));
+        
+        servicioConCuota.crearReserva(cancha, fechaHora, "Juan Pérez");
+        
+        // Act & Assert
+        assertThatThrownBy(() -> 
+            servicioConCuota.crearReserva(cancha, fechaHora.plusHours(2), "Juan Pérez"))
+            .isInstanceOf(CuotaExcedidaException.class);
+        
+        // Verify
+        verify(reservaRepository, times(1)).save(any(Reserva.class));
+    }
+    
+    @Test
+    @DisplayName("Debería liberar cuota al cancelar y al fallar el guardado")
+    void deberiaLiberarCuotaAlCancelarYAlFallarGuardado() {
+        // Arrange
+        Long id = 1L;
+        CuotaReservas cuota = new CuotaReservas(1);
+        ReservaService servicioConCuota = new ReservaService(reservaRepository, cuota);
+        Reserva reservaExistente = new Reserva(cancha, fechaHora, "Juan Pérez");
+        reservaExistente.setId(id);
+        cuota.registrarExistentes(Arrays.asList(reservaExistente));
+        
+        when(reservaRepository.findById(id)).thenReturn(Optional.of(reservaExistente));
+        
+        // Act
+        servicioConCuota.cancelarReserva(id);
+        servicioConCuota.cancelarReserva(id);
+        
+        // Assert
+        assertThat(cuota.reservasEnSemana("Juan Pérez", fechaHora)).isZero();
+        
+        // Arrange - el repositorio falla al guardar
+        when(reservaRepository.findByCanchaAndFechaHora(cancha, fechaHora)).thenReturn(Arrays.asList());
+        when(reservaRepository.save(any(Reserva.class))).thenThrow(new IllegalStateException("falla"));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> servicioConCuota.crearReserva(cancha, fechaHora, "Juan Pérez"))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(cuota.reservasEnSemana("Juan Pérez", fechaHora)).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería aplicar la cuota a las reservas que ya estaban en el repositorio")
+    void deberiaAplicarCuotaAReservasPrevias() {
+        // Arrange - el repositorio ya tiene reservas, como tras un reinicio
+        ReservaRepositoryEnMemoria repositorio = new ReservaRepositoryEnMemoria();
+        Reserva previa = repositorio.save(new Reserva(cancha, fechaHora, "Juan Pérez"));
+        repositorio.save(new Reserva(cancha, fechaHora.plusHours(1), "Juan Pérez"));
+        ReservaService servicio = new ReservaService(repositorio, new CuotaReservas(2));
+        
+        // Act & Assert
+        assertThatThrownBy(() -> servicio.crearReserva(cancha, fechaHora.plusHours(2), "Juan Pérez"))
+            .isInstanceOf(CuotaExcedidaException.class);
+        servicio.cancelarReserva(previa.getId());
+        assertThat(servicio.crearReserva(cancha, fechaHora.plusHours(2), "Juan Pérez").getId()).isNotNull();
+    }
+    
+    @Test
+    @DisplayName("Debería restaurar el estado y conservar la cuota si falla el guardado al cancelar")
+    void deberiaRestaurarEstadoSiFallaGuardadoAlCancelar() {
+        // Arrange
+        Long id = 1L;
+        CuotaReservas cuota = new CuotaReservas(1);
+        ReservaService servicioConCuota = new ReservaService(reservaRepository, cuota);
+        Reserva reservaExistente = new Reserva(cancha, fechaHora, "Juan Pérez");
+        reservaExistente.setId(id);
+        cuota.registrarExistentes(Arrays.asList(reservaExistente));
+        
+        when(reservaRepository.findById(id)).thenReturn(Optional.of(reservaExistente));
+        when(reservaRepository.save(reservaExistente))
+            .thenThrow(new IllegalStateException("falla"))
+            .thenReturn(reservaExistente);
+        
+        // Act & Assert
+        assertThatThrownBy(() -> servicioConCuota.cancelarReserva(id))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(reservaExistente.getEstado()).isEqualTo(EstadoReserva.ACTIVA);
+        assertThat(cuota.reservasEnSemana("Juan Pérez", fechaHora)).isEqualTo(1);
+        
+        // Act - el reintento sí libera la cuota
+        servicioConCuota.cancelarReserva(id);
+        
+        // Assert
+        assertThat(reservaExistente.getEstado()).isEqualTo(EstadoReserva.CANCELADA);
+        assertThat(cuota.reservasEnSemana("Juan Pérez", fechaHora)).isZero();
+    }
+    
+    @Test
+    @DisplayName("Debería mantener la cuota consistente al modificar y cancelar en paralelo")
+    void deberiaMantenerCuotaAlModificarYCancelarEnParalelo() throws Exception {
+        // Arrange - repositorio real: cada ronda mueve la reserva a otra semana mientras se cancela
+        CuotaReservas cuota = new CuotaReservas(5);
+        ReservaService servicio = new ReservaService(new ReservaRepositoryEnMemoria(), cuota);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try {
+            for (int i = 0; i < 200; i++) {
+                Reserva reserva = servicio.crearReserva(cancha, fechaHora.plusHours(i), "Usuario " + i);
+                LocalDateTime otraSemana = fechaHora.plusWeeks(1).plusHours(i);
+                CountDownLatch salida = new CountDownLatch(1);
+                Future<?> modificar = executor.submit(() -> {
+                    salida.await();
+                    return servicio.modificarReserva(reserva.getId(), otraSemana);
+                });
+                Future<?> cancelar = executor.submit(() -> {
+                    salida.await();
+                    servicio.cancelarReserva(reserva.getId());
+                    return null;
+                });
+                salida.countDown();
+                modificar.get(5, TimeUnit.SECONDS);
+                cancelar.get(5, TimeUnit.SECONDS);
+                
+                // Assert - la reserva quedó cancelada y no consume cuota en ninguna semana
+                assertThat(cuota.reservasEnSemana("Usuario " + i, fechaHora.plusHours(i))).isZero();
+                assertThat(cuota.reservasEnSemana("Usuario " + i, otraSemana)).isZero();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería liberar la cuota una sola vez al cancelar en paralelo sobre un repositorio que devuelve copias")
+    void deberiaLiberarCuotaUnaVezAlCancelarEnParaleloConCopias() throws Exception {
+        // Arrange - cada lectura del repositorio fuera del heap es una instancia distinta
+        CuotaReservas cuota = new CuotaReservas(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try (ReservaRepositoryFueraDeHeap repositorio = new ReservaRepositoryFueraDeHeap(16)) {
+            ReservaService servicio = new ReservaService(repositorio, cuota);
+            for (int i = 0; i < 200; i++) {
+                String usuario = "Usuario " + i;
+                Reserva reserva = servicio.crearReserva(cancha, fechaHora.plusMinutes(2 * i), usuario);
+                servicio.crearReserva(cancha, fechaHora.plusMinutes(2 * i + 1), usuario);
+                CountDownLatch salida = new CountDownLatch(1);
+                Future<?> primera = executor.submit(() -> {
+                    salida.await();
+                    servicio.cancelarReserva(reserva.getId());
+                    return null;
+                });
+                Future<?> segunda = executor.submit(() -> {
+                    salida.await();
+                    servicio.cancelarReserva(reserva.getId());
+                    return null;
+                });
+                salida.countDown();
+                primera.get(5, TimeUnit.SECONDS);
+                segunda.get(5, TimeUnit.SECONDS);
+                
+                // Assert - la otra reserva de la semana sigue contabilizada
+                assertThat(cuota.reservasEnSemana(usuario, fechaHora)).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería serializar modificaciones concurrentes de una reserva hacia franjas distintas")
+    void deberiaSerializarModificacionesConcurrentesDeUnaReserva() throws Exception {
+        // Arrange - cada destino cae en otra semana y en otro candado de franja
+        CuotaReservas cuota = new CuotaReservas(1);
+        ReservaRepositoryEnMemoria repositorio = new ReservaRepositoryEnMemoria();
+        ReservaService servicio = new ReservaService(repositorio, cuota);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        try {
+            for (int i = 0; i < 200; i++) {
+                String usuario = "Usuario " + i;
+                Reserva reserva = servicio.crearReserva(cancha, fechaHora.plusMinutes(i), usuario);
+                LocalDateTime destinoA = fechaHora.plusWeeks(1).plusMinutes(i);
+                LocalDateTime destinoB = fechaHora.plusWeeks(2).plusMinutes(i);
+                CountDownLatch salida = new CountDownLatch(1);
+                Future<?> haciaA = executor.submit(() -> {
+                    salida.await();
+                    return servicio.modificarReserva(reserva.getId(), destinoA);
+                });
+                Future<?> haciaB = executor.submit(() -> {
+                    salida.await();
+                    return servicio.modificarReserva(reserva.getId(), destinoB);
+                });
+                salida.countDown();
+                haciaA.get(5, TimeUnit.SECONDS);
+                haciaB.get(5, TimeUnit.SECONDS);
+                
+                // Assert - la reserva ocupa una sola franja y cuenta en una sola semana
+                LocalDateTime finalFechaHora = reserva.getFechaHora();
+                LocalDateTime descartada = finalFechaHora.equals(destinoA) ? destinoB : destinoA;
+                assertThat(repositorio.findByCanchaAndFechaHora(cancha, finalFechaHora)).containsExactly(reserva);
+                assertThat(repositorio.findByCanchaAndFechaHora(cancha, descartada)).isEmpty();
+                assertThat(cuota.reservasEnSemana(usuario, finalFechaHora)).isEqualTo(1);
+                assertThat(cuota.reservasEnSemana(usuario, descartada)).isZero();
+                assertThat(cuota.reservasEnSemana(usuario, fechaHora.plusMinutes(i))).isZero();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Debería filtrar reservas por rango según cancha, deporte o estado")
+    void deberiaFiltrarReservasPorRango() {
+        // Arrange
+        LocalDateTime hasta = fechaHora.plusDays(7);
+        Cancha canchaTenis = new Cancha("Cancha Tenis", TipoDeporte.TENIS, Arrays.asList(LocalTime.of(10, 0)));
+        Reserva futbol = new Reserva(cancha, fechaHora, "Juan Pérez");
+        Reserva tenis = new Reserva(canchaTenis, fechaHora.plusDays(1), "María García");
+        tenis.cancelar();
+        
+        when(reservaRepository.findByRango(fechaHora, hasta)).thenReturn(Arrays.asList(futbol, tenis));
+        
+        // Act & Assert
+        assertThat(reservaService.obtenerReservasPorRango(fechaHora, hasta)).containsExactly(futbol, tenis);
+        assertThat(reservaService.obtenerReservasPorRango(fechaHora, hasta, canchaTenis)).containsExactly(tenis);
+        assertThat(reservaService.obtenerReservasPorRango(fechaHora, hasta, TipoDeporte.FUTBOL)).containsExactly(futbol);
+        assertThat(reservaService.obtenerReservasPorRango(fechaHora, hasta, EstadoReserva.CANCELADA))
+            .containsExactly(tenis);
+        assertThatThrownBy(() -> reservaService.obtenerReservasPorRango(hasta, fechaHora))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    @DisplayName("Debería cachear la disponibilidad e invalidarla al reservar esa franja")
+    void deberiaCachearDisponibilidadEInvalidarAlReservar() {
+        // Arrange
+        ReservaService servicioCoalescido = new ReservaService(reservaRepository, CuotaReservas.sinLimite(),
+            null, Duration.ofMinutes(1));
+        Reserva reserva = new Reserva(cancha, fechaHora, "Juan Pérez");
+        when(reservaRepository.findByCanchaAndFechaHora(cancha, fechaHora))
+            .thenReturn(Arrays.asList())
+            .thenReturn(Arrays.asList())
+            .thenReturn(Arrays.asList(reserva));
+        when(reservaRepository.save(any(Reserva.class))).thenReturn(reserva);
+        
+        // Act & Assert - la segunda consulta sale de la caché
+        assertThat(servicioCoalescido.esCanchaDisponible(cancha, fechaHora)).isTrue();
+        assertThat(servicioCoalescido.esCanchaDisponible(cancha, fechaHora)).isTrue();
+        
+        // Act - la creación consulta el repositorio directamente e invalida la franja
+        servicioCoalescido.crearReserva(cancha, fechaHora, "Juan Pérez");
+        
+        // Assert
+        assertThat(servicioCoalescido.esCanchaDisponible(cancha, fechaHora)).isFalse();
+        verify(reservaRepository, times(3)).findByCanchaAndFechaHora(cancha, fechaHora);
+    }
+}